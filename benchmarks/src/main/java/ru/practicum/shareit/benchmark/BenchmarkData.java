@@ -0,0 +1,89 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatusType;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Детерминированные тестовые данные для бенчмарков, не требующие БД.
+ */
+final class BenchmarkData {
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static User user(final long id) {
+        return User.builder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@mail.ru")
+                .build();
+    }
+
+    static ItemRequest request(final long id) {
+        return ItemRequest.builder()
+                .id(id)
+                .requestorId(1L)
+                .description("Request " + id)
+                .created(NOW.minusDays(id))
+                .build();
+    }
+
+    static Item item(final long id, final ItemRequest request) {
+        return Item.builder()
+                .id(id)
+                .owner(1L)
+                .name("Item " + id)
+                .description("Description of item " + id)
+                .available(true)
+                .request(request)
+                .build();
+    }
+
+    static List<Booking> bookings(final int count) {
+        User booker = user(2L);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .start(NOW.plusHours(id))
+                    .end(NOW.plusHours(id + 1))
+                    .status(BookingStatusType.APPROVED)
+                    .item(item(id, null))
+                    .booker(booker)
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<ItemForRequestDto> answers(final int count, final int requestCount) {
+        List<ItemForRequestDto> answers = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            answers.add(new ItemForRequestDto(id, "Item " + id, "Description of item " + id, true,
+                    id % requestCount + 1));
+        }
+        return answers;
+    }
+
+    static List<CommentDto> comments(final int count) {
+        List<CommentDto> comments = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            comments.add(CommentDto.builder()
+                    .id(id)
+                    .text("Comment " + id)
+                    .authorName("User " + id)
+                    .created(NOW.minusDays(id))
+                    .build());
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatusType;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.StatusException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PATCH /bookings/{id}?approved=true под конкуренцией на уровне сервиса (H2, профиль test).
+ * THREADS потоков одобряют бронирования владельцев из общего пула; при contention > 1 одно и то же
+ * бронирование одобряют сразу несколько потоков, и оптимистическая блокировка разрешает гонку.
+ * Каждая итерация — BATCH_SIZE одобрений на поток, перед итерацией статусы сбрасываются в WAITING.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = BookingApprovalContentionBenchmark.BATCH_SIZE)
+@Measurement(iterations = 10, batchSize = BookingApprovalContentionBenchmark.BATCH_SIZE)
+@Threads(BookingApprovalContentionBenchmark.THREADS)
+@Fork(1)
+public class BookingApprovalContentionBenchmark {
+    static final int THREADS = 8;
+    static final int BATCH_SIZE = 500;
+
+    @Param({"1", "16", "256"})
+    private int ownerCount;
+
+    @Param({"1", "4"})
+    private int contention;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private JdbcTemplate jdbcTemplate;
+    private final List<Long> bookingIds = new ArrayList<>();
+    private final List<Long> bookingOwners = new ArrayList<>();
+    private final AtomicInteger nextApproval = new AtomicInteger();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long approved;
+        public long alreadyApproved;
+        public long retriesExhausted;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            approved = 0;
+            alreadyApproved = 0;
+            retriesExhausted = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:shareit-approval-bench",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        bookingService = context.getBean(BookingService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(context.getBean(UserRepository.class), context.getBean(ItemRepository.class),
+                context.getBean(BookingRepository.class));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatuses() {
+        jdbcTemplate.update("UPDATE bookings SET status = 'WAITING'");
+        nextApproval.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void approve(final Outcomes outcomes) {
+        int index = (nextApproval.getAndIncrement() / contention) % bookingIds.size();
+        try {
+            bookingService.ownerChangeStatus(bookingOwners.get(index), bookingIds.get(index), true);
+            outcomes.approved++;
+        } catch (StatusException e) {
+            outcomes.alreadyApproved++;
+        } catch (OptimisticLockingFailureException e) {
+            outcomes.retriesExhausted++;
+        }
+    }
+
+    /**
+     * По одному предмету на владельца, бронирования распределены по владельцам по кругу
+     * и не пересекаются по времени, поэтому одобрение никогда не отклоняется как конфликт периодов.
+     */
+    private void seed(final UserRepository userRepository, final ItemRepository itemRepository,
+                      final BookingRepository bookingRepository) {
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@mail.ru").build());
+
+        List<Item> items = new ArrayList<>(ownerCount);
+        for (int i = 0; i < ownerCount; i++) {
+            User owner = userRepository.save(User.builder()
+                    .name("Owner " + i)
+                    .email("owner" + i + "@mail.ru")
+                    .build());
+            items.add(itemRepository.save(Item.builder()
+                    .owner(owner.getId())
+                    .name("Item " + i)
+                    .description("Description of item " + i)
+                    .available(true)
+                    .build()));
+        }
+
+        int bookingCount = THREADS * BATCH_SIZE / contention;
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>(bookingCount);
+        for (int i = 0; i < bookingCount; i++) {
+            LocalDateTime start = base.plusHours(2L * i);
+            bookings.add(Booking.builder()
+                    .item(items.get(i % ownerCount))
+                    .booker(booker)
+                    .start(start)
+                    .end(start.plusHours(1))
+                    .status(BookingStatusType.WAITING)
+                    .build());
+        }
+        for (Booking booking : bookingRepository.saveAll(bookings)) {
+            bookingIds.add(booking.getId());
+            bookingOwners.add(booking.getItem().getOwner());
+        }
+    }
+}
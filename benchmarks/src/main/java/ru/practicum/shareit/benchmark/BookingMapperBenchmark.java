@@ -0,0 +1,34 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+    @Param({"10", "1000"})
+    private int bookingCount;
+
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        bookings = BenchmarkData.bookings(bookingCount);
+    }
+
+    @Benchmark
+    public void bookingToBookingDto(final Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.bookingToBookingDto(booking));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemWithBookingDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+    private Item item;
+    private Booking lastBooking;
+    private Booking nextBooking;
+
+    @Setup
+    public void setUp() {
+        item = BenchmarkData.item(1L, BenchmarkData.request(1L));
+        List<Booking> bookings = BenchmarkData.bookings(2);
+        lastBooking = bookings.get(0);
+        nextBooking = bookings.get(1);
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return ItemMapper.itemToItemDto(item);
+    }
+
+    @Benchmark
+    public ItemWithBookingDto itemToItemWithBookingDto() {
+        return ItemMapper.itemToItemWithBookingDto(item, lastBooking, nextBooking);
+    }
+
+    @Benchmark
+    public ItemForRequestDto itemToItemForRequestDto() {
+        return ItemMapper.itemToItemForRequestDto(item);
+    }
+}
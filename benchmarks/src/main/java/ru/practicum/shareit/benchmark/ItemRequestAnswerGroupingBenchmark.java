@@ -0,0 +1,36 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.request.ItemRequestAnswerAssembler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Группировка ответов по запросам должна расти линейно: время на 10000 ответов
+ * примерно в 10 раз больше, чем на 1000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestAnswerGroupingBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int answerCount;
+
+    private List<ItemForRequestDto> answers;
+
+    @Setup
+    public void setUp() {
+        answers = BenchmarkData.answers(answerCount, Math.max(1, answerCount / 4));
+    }
+
+    @Benchmark
+    public Map<Long, List<ItemForRequestDto>> groupByRequestId() {
+        return ItemRequestAnswerAssembler.groupByRequestId(answers);
+    }
+}
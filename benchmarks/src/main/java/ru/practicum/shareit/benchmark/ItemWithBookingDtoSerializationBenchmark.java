@@ -0,0 +1,52 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemWithBookingDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация страницы GET /items с теми же настройками Jackson, что и у сервера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemWithBookingDtoSerializationBenchmark {
+    @Param({"1", "20"})
+    private int itemCount;
+
+    private ObjectMapper objectMapper;
+    private List<ItemWithBookingDto> items;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .build();
+
+        List<Booking> bookings = BenchmarkData.bookings(2);
+        items = new ArrayList<>(itemCount);
+        for (long id = 1; id <= itemCount; id++) {
+            ItemWithBookingDto itemDto = ItemMapper.itemToItemWithBookingDto(
+                    BenchmarkData.item(id, BenchmarkData.request(id)), bookings.get(0), bookings.get(1));
+            itemDto.setComments(BenchmarkData.comments(5));
+            items.add(itemDto);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+}
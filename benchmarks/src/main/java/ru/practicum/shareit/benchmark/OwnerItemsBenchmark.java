@@ -0,0 +1,119 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatusType;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemWithBookingDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /items на уровне сервиса: поднимает контекст сервера на H2 (профиль test),
+ * заполняет БД владельцем с itemCount предметами и бронированиями/комментариями к каждому.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerItemsBenchmark {
+    private static final int BOOKINGS_PER_ITEM = 4;
+    private static final int COMMENTS_PER_ITEM = 2;
+
+    @Param({"100", "1000"})
+    private int itemCount;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:shareit-bench",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        itemService = context.getBean(ItemService.class);
+        seed(context.getBean(UserRepository.class), context.getBean(ItemRepository.class),
+                context.getBean(BookingRepository.class), context.getBean(CommentRepository.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemWithBookingDto> getOwnerItemsWithBookings() {
+        return itemService.getOwnerItemsWithBookings(ownerId, PageRequest.of(0, pageSize));
+    }
+
+    private void seed(final UserRepository userRepository, final ItemRepository itemRepository,
+                      final BookingRepository bookingRepository, final CommentRepository commentRepository) {
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@mail.ru").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@mail.ru").build());
+        ownerId = owner.getId();
+
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(Item.builder()
+                    .owner(ownerId)
+                    .name("Item " + i)
+                    .description("Description of item " + i)
+                    .available(true)
+                    .build());
+        }
+        items = itemRepository.saveAll(items);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>(itemCount * BOOKINGS_PER_ITEM);
+        List<Comment> comments = new ArrayList<>(itemCount * COMMENTS_PER_ITEM);
+        for (Item item : items) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = now.plusDays(2L * i - BOOKINGS_PER_ITEM);
+                bookings.add(Booking.builder()
+                        .item(item)
+                        .booker(booker)
+                        .start(start)
+                        .end(start.plusDays(1))
+                        .status(BookingStatusType.APPROVED)
+                        .build());
+            }
+            for (int i = 0; i < COMMENTS_PER_ITEM; i++) {
+                comments.add(Comment.builder()
+                        .item(item)
+                        .author(booker)
+                        .text("Comment " + i)
+                        .created(now.minusDays(i))
+                        .build());
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+    }
+}
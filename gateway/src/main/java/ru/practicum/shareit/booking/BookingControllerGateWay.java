@@ -4,11 +4,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatusBulkDto;
 import ru.practicum.shareit.exceptionhandler.exceptions.DateTimeBookingException;
 
 import javax.validation.Valid;
@@ -25,50 +27,69 @@ public class BookingControllerGateWay {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                              @Positive @RequestParam(name = "from", defaultValue = "1") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @Positive @RequestParam(name = "from", defaultValue = "1") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("GateWay GET запрос на получение своих бронирований {}, userId={}, from={}, size={}",
-                stateParam, userId, from, size);
+        log.info("GateWay GET запрос на получение своих бронирований {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+        if (cursor != null) {
+            return bookingClient.getBookings(userId, state, cursor, size);
+        }
         return bookingClient.getBookings(userId, state, from, size);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestBody @Valid BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("GateWay POST запрос на создание бронирования {}, userId={}", requestDto, userId);
         checkBooking(requestDto);
         return bookingClient.bookItem(userId, requestDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingById(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @PathVariable Long bookingId) {
         log.info("GateWay GET запрос на получение бронирования по ID {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> bookingOwnerChangeStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                           @PathVariable Long bookingId,
-                                                           @RequestParam(value = "approved") Boolean approved) {
+    public Mono<ResponseEntity<Object>> bookingOwnerChangeStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @PathVariable Long bookingId,
+                                                                 @RequestParam(value = "approved") Boolean approved) {
         log.info("GateWay PATCH запрос от владельца по ID {} на изменение статуса запроса бронирования ID {} на \'{}\'",
                 userId, bookingId, approved);
         return bookingClient.changeBookingStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping("/bulk")
+    public Mono<ResponseEntity<Object>> bookingOwnerChangeStatuses(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @RequestBody @Valid BookingStatusBulkDto bulkDto,
+                                                                   @RequestParam(value = "approved") Boolean approved) {
+        log.info("GateWay PATCH запрос от владельца по ID {} на изменение статуса {} бронирований на '{}'",
+                userId, bulkDto.getBookingIds().size(), approved);
+        return bookingClient.changeBookingStatuses(userId, bulkDto, approved);
+    }
+
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                                   @Positive @RequestParam(name = "from", defaultValue = "1") Integer from,
-                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+            @Positive @RequestParam(name = "from", defaultValue = "1") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: UNSUPPORTED_STATUS"));
         log.info("GateWay GET запрос от владельца ID {} на получение своих забронированных вещей. Правило получения: {}",
                 userId, state);
+        if (cursor != null) {
+            return bookingClient.getOwnerBookings(userId, state, cursor, size);
+        }
         return bookingClient.getOwnerBookings(userId, state, from, size);
     }
 
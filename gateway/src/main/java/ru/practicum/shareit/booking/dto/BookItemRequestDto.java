@@ -8,12 +8,14 @@ import lombok.NoArgsConstructor;
 
 import javax.validation.constraints.Future;
 import javax.validation.constraints.FutureOrPresent;
+import javax.validation.constraints.NotNull;
 
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 public class BookItemRequestDto {
-	private long itemId;
+	@NotNull(message = "Не указан ID вещи")
+	private Long itemId;
 	@FutureOrPresent
 	private LocalDateTime start;
 	@Future
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Отдаёт GET-ответы ресурса из кеша gateway, остальные запросы сбрасывают зависимые записи кеша.
+ * Если If-None-Match клиента совпадает с ETag закешированного ответа, отдаётся 304 без тела.
+ */
+public class CachingServerTransport implements ServerTransport {
+    private final ServerTransport delegate;
+    private final String resource;
+    private final GatewayResponseCache cache;
+
+    public CachingServerTransport(ServerTransport delegate, String resource, GatewayResponseCache cache) {
+        this.delegate = delegate;
+        this.resource = resource;
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        if (method != HttpMethod.GET) {
+            cache.invalidateAfterWrite(resource);
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .doFinally(signal -> cache.invalidateAfterWrite(resource));
+        }
+        if (!cache.isCached(resource)) {
+            return delegate.exchange(method, path, headers, parameters, body);
+        }
+
+        ResponseCacheKey key = new ResponseCacheKey(resource, cache.generation(resource), path, parameters,
+                headers.getFirst(ServerTransport.USER_ID_HEADER));
+        ResponseEntity<Object> cached = cache.get(key);
+        if (cached != null) {
+            return Mono.just(notModified(headers, cached) ? notModifiedResponse(cached) : cached);
+        }
+        return delegate.exchange(method, path, headers, parameters, body)
+                .doOnNext(response -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        cache.put(key, response);
+                    }
+                });
+    }
+
+    /**
+     * Совпадает ли If-None-Match клиента с ETag, который server выставил на закешированный ответ.
+     * Сравнение слабое, как у server: префикс W/ не учитывается.
+     */
+    private static boolean notModified(HttpHeaders requestHeaders, ResponseEntity<Object> cached) {
+        String etag = cached.getHeaders().getETag();
+        if (etag == null) {
+            return false;
+        }
+        for (String candidate : requestHeaders.getIfNoneMatch()) {
+            if ("*".equals(candidate) || withoutWeakPrefix(candidate).equals(withoutWeakPrefix(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String withoutWeakPrefix(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static ResponseEntity<Object> notModifiedResponse(ResponseEntity<Object> cached) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .headers(ServerTransport.relayHeaders(cached.getHeaders()))
+                .build();
+    }
+}
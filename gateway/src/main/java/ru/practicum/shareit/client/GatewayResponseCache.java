@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кеш успешных GET-ответов server с ограничением по времени жизни и размеру.
+ * Запись в ресурс (POST, PATCH, DELETE через этот gateway) увеличивает поколение самого ресурса
+ * и ресурсов, чьи ответы от него зависят. Поколение входит в ключ, поэтому прежние ответы
+ * перестают находиться без обхода кеша и вытесняются по времени жизни и размеру.
+ */
+public class GatewayResponseCache {
+    /**
+     * Какие ресурсы устаревают после записи в ресурс-ключ: бронирование меняет lastBooking/nextBooking
+     * вещи, новая вещь может быть ответом на запрос, удаление пользователя удаляет его данные везде.
+     */
+    private static final Map<String, Set<String>> INVALIDATES = Map.of(
+            "/users", Set.of("/users", "/items", "/bookings", "/requests"),
+            "/items", Set.of("/items", "/requests"),
+            "/bookings", Set.of("/bookings", "/items"),
+            "/requests", Set.of("/requests"));
+
+    private final Cache<ResponseCacheKey, ResponseEntity<Object>> cache;
+    private final Set<String> cachedResources;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public GatewayResponseCache(ResponseCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxSize())
+                .recordStats()
+                .build();
+        this.cachedResources = Set.copyOf(properties.getResources());
+    }
+
+    public Cache<ResponseCacheKey, ResponseEntity<Object>> getCache() {
+        return cache;
+    }
+
+    boolean isCached(final String resource) {
+        return cachedResources.contains(resource);
+    }
+
+    /**
+     * Номер поколения ресурса. Меняется при каждой записи, затрагивающей ресурс, и входит в ключ кеша.
+     */
+    long generation(final String resource) {
+        return generationCounter(resource).get();
+    }
+
+    @Nullable
+    ResponseEntity<Object> get(final ResponseCacheKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Сохраняет ответ, если с момента отправки запроса в ресурс никто не писал. Ответ, опоздавший
+     * к записи, всё равно не нашёлся бы по ключу нового поколения, проверка лишь не засоряет им кеш.
+     */
+    void put(final ResponseCacheKey key, final ResponseEntity<Object> response) {
+        if (generation(key.getResource()) == key.getGeneration()) {
+            cache.put(key, response);
+        }
+    }
+
+    void invalidateAfterWrite(final String resource) {
+        INVALIDATES.getOrDefault(resource, Set.of(resource))
+                .forEach(affectedResource -> generationCounter(affectedResource).incrementAndGet());
+    }
+
+    private AtomicLong generationCounter(final String resource) {
+        return generations.computeIfAbsent(resource, ignored -> new AtomicLong());
+    }
+}
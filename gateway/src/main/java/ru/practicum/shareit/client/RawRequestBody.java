@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Исходные байты тела текущего запроса к gateway вместе с DTO, в который они были прочитаны.
+ * Позволяет переслать тело на server как есть, не сериализуя DTO повторно.
+ */
+public final class RawRequestBody {
+    private static final String ATTRIBUTE = RawRequestBody.class.getName();
+
+    private final Object body;
+    private final byte[] bytes;
+
+    private RawRequestBody(Object body, byte[] bytes) {
+        this.body = body;
+        this.bytes = bytes;
+    }
+
+    static void store(final Object body, final byte[] bytes) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, new RawRequestBody(body, bytes), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Возвращает исходные байты, если body — тот самый объект, что был прочитан из тела запроса.
+     */
+    @Nullable
+    static byte[] find(@Nullable final Object body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (body == null || attributes == null) {
+            return null;
+        }
+        Object raw = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (raw instanceof RawRequestBody && ((RawRequestBody) raw).body == body) {
+            return ((RawRequestBody) raw).bytes;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Запоминает исходные байты JSON-тела запроса, пока Jackson читает из них DTO для валидации.
+ * На сервер уходят именно эти байты, поэтому поля DTO шлюза должны иметь те же типы, что и на сервере:
+ * обязательные ссылки - {@code @NotNull Long}, а не примитивы, которые Jackson молча заполнил бы нулём.
+ */
+@ControllerAdvice("ru.practicum.shareit")
+@ConditionalOnProperty(name = "shareit-server.http.raw-pass-through", havingValue = "true", matchIfMissing = true)
+public class RawRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        return new BufferedInputMessage(StreamUtils.copyToByteArray(inputMessage.getBody()),
+                inputMessage.getHeaders());
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        if (inputMessage instanceof BufferedInputMessage) {
+            RawRequestBody.store(body, ((BufferedInputMessage) inputMessage).bytes);
+        }
+        return body;
+    }
+
+    private static final class BufferedInputMessage implements HttpInputMessage {
+        private final byte[] bytes;
+        private final HttpHeaders headers;
+
+        private BufferedInputMessage(byte[] bytes, HttpHeaders headers) {
+            this.bytes = bytes;
+            this.headers = headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Ключ кеша ответов: ресурс и его поколение, путь с шаблоном, значения параметров и пользователь
+ * из X-Sharer-User-Id.
+ */
+@Value
+class ResponseCacheKey {
+    String resource;
+    long generation;
+    String path;
+    Map<String, Object> parameters;
+    String userId;
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Настройки кеша ответов server на GET-запросы в gateway.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = false;
+    private Duration ttl = Duration.ofSeconds(5);
+    private long maxSize = 10_000;
+    /**
+     * Префиксы ресурсов, GET-ответы которых кешируются. Списки бронирований по умолчанию
+     * не кешируются: их состав (CURRENT, PAST, FUTURE) меняется с течением времени.
+     */
+    private Set<String> resources = Set.of("/items", "/users", "/requests");
+}
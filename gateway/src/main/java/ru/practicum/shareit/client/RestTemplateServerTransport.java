@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Блокирующий транспорт: запрос выполняется через RestTemplate в потоке, подписавшемся на результат.
+ */
+public class RestTemplateServerTransport implements ServerTransport {
+    private final RestTemplate rest;
+    private final boolean rawPassThrough;
+
+    public RestTemplateServerTransport(RestTemplate rest, boolean rawPassThrough) {
+        this.rest = rest;
+        this.rawPassThrough = rawPassThrough;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        if (rawPassThrough) {
+            return Mono.fromCallable(() -> relay(method, path, headers, parameters, body));
+        }
+        return Mono.fromCallable(() -> send(method, path, headers, parameters, body));
+    }
+
+    private ResponseEntity<Object> relay(HttpMethod method, String path, HttpHeaders headers,
+                                         @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+        try {
+            ResponseEntity<byte[]> response = parameters != null
+                    ? rest.exchange(path, method, requestEntity, byte[].class, parameters)
+                    : rest.exchange(path, method, requestEntity, byte[].class);
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(ServerTransport.relayHeaders(response.getHeaders()))
+                    .body(response.getBody());
+        } catch (HttpStatusCodeException e) {
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(e.getStatusCode());
+            if (e.getResponseHeaders() != null) {
+                responseBuilder.headers(ServerTransport.relayHeaders(e.getResponseHeaders()));
+            }
+            return responseBuilder.body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, HttpHeaders headers,
+                                        @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<Object> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return responseBuilder.headers(ServerTransport.relayHeaders(response.getHeaders())).build();
+        }
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+}
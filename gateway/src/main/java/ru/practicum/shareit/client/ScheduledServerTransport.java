@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Map;
+
+/**
+ * Выполняет блокирующий транспорт на отдельном планировщике вместо потока, подписавшегося на результат.
+ * Если пул и его очередь заполнены, Mono завершается RejectedExecutionException.
+ */
+public class ScheduledServerTransport implements ServerTransport {
+    private final ServerTransport delegate;
+    private final Scheduler scheduler;
+
+    public ScheduledServerTransport(ServerTransport delegate, Scheduler scheduler) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return delegate.exchange(method, path, headers, parameters, body)
+                .subscribeOn(scheduler);
+    }
+}
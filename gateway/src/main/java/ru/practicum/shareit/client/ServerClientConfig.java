@@ -0,0 +1,176 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Один пул keep-alive соединений к server на все клиенты gateway.
+ * Движок выбирается свойством shareit-server.http.engine. Метрики пула публикуются в actuator
+ * как httpcomponents.httpclient.pool.* (blocking) или reactor.netty.connection.provider.* (reactive).
+ */
+@Configuration
+@EnableConfigurationProperties({ServerClientProperties.class, ResponseCacheProperties.class})
+public class ServerClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+    private static final String FORWARDING_EXECUTOR_NAME = "server-forwarding";
+    private static final String RESPONSE_CACHE_NAME = "gateway-responses";
+
+    @Bean
+    public PoolingHttpClientConnectionManager serverConnectionManager(ServerClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                ServerClientProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory serverRequestFactory(CloseableHttpClient serverHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http.engine", havingValue = "blocking", matchIfMissing = true)
+    public ServerTransportFactory restTemplateTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                               RestTemplateBuilder builder,
+                                                               ClientHttpRequestFactory serverRequestFactory,
+                                                               ServerClientProperties properties,
+                                                               ObjectProvider<Scheduler> forwardingScheduler,
+                                                               ObjectProvider<GatewayResponseCache> responseCache,
+                                                               MeterRegistry meterRegistry) {
+        Scheduler scheduler = forwardingScheduler.getIfAvailable();
+        return apiPrefix -> {
+            ServerTransport transport = new RestTemplateServerTransport(builder
+                    .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                    .requestFactory(() -> serverRequestFactory)
+                    .build(), properties.isRawPassThrough());
+            if (scheduler != null) {
+                transport = new ScheduledServerTransport(transport, scheduler);
+            }
+            return new TimedServerTransport(withCache(transport, apiPrefix, responseCache.getIfAvailable()),
+                    apiPrefix, meterRegistry);
+        };
+    }
+
+    /**
+     * Ограниченный пул для блокирующих запросов к server: поток Tomcat освобождается сразу,
+     * а число одновременных запросов и длина очереди не превышают заданных.
+     * Метрики пула (в том числе executor.queued) публикуются с тегом name=server-forwarding.
+     * После перехода на Java 21 пул можно заменить на виртуальные потоки с семафором.
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "shareit-server.http.executor.enabled", havingValue = "true")
+    public Scheduler forwardingScheduler(ServerClientProperties properties, MeterRegistry meterRegistry) {
+        ServerClientProperties.Executor settings = properties.getExecutor();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                new CustomizableThreadFactory("server-forwarding-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, FORWARDING_EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+        return Schedulers.fromExecutorService(executor, FORWARDING_EXECUTOR_NAME);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http.engine", havingValue = "reactive")
+    public ServerTransportFactory webClientTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                            WebClient.Builder builder,
+                                                            ServerClientProperties properties,
+                                                            ObjectProvider<GatewayResponseCache> responseCache,
+                                                            MeterRegistry meterRegistry) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .evictInBackground(properties.getMaxIdleTime())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+
+        return apiPrefix -> new TimedServerTransport(withCache(new WebClientServerTransport(builder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .clientConnector(connector)
+                .build(), properties.isRawPassThrough()), apiPrefix, responseCache.getIfAvailable()),
+                apiPrefix, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.cache.enabled", havingValue = "true")
+    public GatewayResponseCache gatewayResponseCache(ResponseCacheProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        GatewayResponseCache responseCache = new GatewayResponseCache(properties);
+        CaffeineCacheMetrics.monitor(meterRegistry, responseCache.getCache(), RESPONSE_CACHE_NAME);
+        return responseCache;
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, POOL_NAME);
+    }
+
+    private static ServerTransport withCache(final ServerTransport transport, final String apiPrefix,
+                                             @Nullable final GatewayResponseCache responseCache) {
+        return responseCache != null ? new CachingServerTransport(transport, apiPrefix, responseCache) : transport;
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(final long defaultKeepAliveMillis) {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? keepAlive : defaultKeepAliveMillis;
+        };
+    }
+}
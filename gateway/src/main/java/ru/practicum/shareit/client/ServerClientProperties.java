@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула HTTP-соединений gateway → server.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ServerClientProperties {
+    /**
+     * blocking — RestTemplate на пуле Apache HttpClient, reactive — WebClient на Reactor Netty.
+     */
+    private Engine engine = Engine.BLOCKING;
+    /**
+     * Ответы server передаются клиенту байтами без разбора JSON, а тела запросов
+     * пересылаются в том виде, в каком пришли (после валидации DTO).
+     */
+    private boolean rawPassThrough = true;
+    /**
+     * Максимум открытых соединений в пуле.
+     */
+    private int maxTotal = 200;
+    /**
+     * Максимум соединений к одному хосту (у gateway он один — server).
+     */
+    private int maxPerRoute = 200;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Сколько ждать свободное соединение из пула.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    /**
+     * Время жизни простаивающего соединения, если server не прислал заголовок Keep-Alive.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+    /**
+     * Простаивающие дольше соединения закрываются фоновым потоком пула.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    /**
+     * Соединение, простоявшее дольше, проверяется перед повторным использованием.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * Пул, на котором выполняются блокирующие запросы к server при engine=blocking.
+     */
+    private Executor executor = new Executor();
+
+    @Data
+    public static class Executor {
+        /**
+         * Если выключено, запрос к server выполняется в потоке Tomcat.
+         */
+        private boolean enabled = false;
+        private int threads = 64;
+        /**
+         * Сверх этого числа ожидающих запросов gateway отвечает 503.
+         */
+        private int queueCapacity = 1000;
+    }
+
+    public enum Engine {
+        BLOCKING,
+        REACTIVE
+    }
+}
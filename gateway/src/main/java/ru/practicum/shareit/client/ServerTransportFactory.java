@@ -0,0 +1,10 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Создаёт транспорт к ресурсу server с указанным префиксом пути, например "/bookings".
+ */
+@FunctionalInterface
+public interface ServerTransportFactory {
+
+    ServerTransport create(String apiPrefix);
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Время запроса клиента gateway к server, как его видит BaseClient: вместе с кешем ответов и ожиданием
+ * в очереди планировщика. Таймер shareit.gateway.server.requests с тегами resource, method и status;
+ * status равен ERROR, если запрос завершился исключением, и CANCELLED, если клиент отменил подписку.
+ */
+public class TimedServerTransport implements ServerTransport {
+    static final String METRIC_NAME = "shareit.gateway.server.requests";
+
+    private final ServerTransport delegate;
+    private final String resource;
+    private final MeterRegistry meterRegistry;
+
+    public TimedServerTransport(ServerTransport delegate, String resource, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.resource = resource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .doOnSuccess(response -> stop(sample, method,
+                            response != null ? String.valueOf(response.getStatusCodeValue()) : "NONE"))
+                    .doOnError(error -> stop(sample, method, "ERROR"))
+                    .doOnCancel(() -> stop(sample, method, "CANCELLED"));
+        });
+    }
+
+    private void stop(final Timer.Sample sample, final HttpMethod method, final String status) {
+        sample.stop(Timer.builder(METRIC_NAME)
+                .description("Запросы gateway к server")
+                .tag("resource", resource)
+                .tag("method", method.name())
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Неблокирующий транспорт на WebClient (Reactor Netty): поток Tomcat освобождается
+ * на время запроса к server, ответ дописывается асинхронно.
+ */
+public class WebClientServerTransport implements ServerTransport {
+    private final WebClient webClient;
+    private final boolean rawPassThrough;
+
+    public WebClientServerTransport(WebClient webClient, boolean rawPassThrough) {
+        this.webClient = webClient;
+        this.rawPassThrough = rawPassThrough;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = (parameters != null
+                ? webClient.method(method).uri(path, parameters)
+                : webClient.method(method).uri(path))
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+
+        WebClient.RequestHeadersSpec<?> exchange = body != null ? request.bodyValue(body) : request;
+        if (rawPassThrough) {
+            return exchange.exchangeToMono(WebClientServerTransport::relay);
+        }
+        return exchange.exchangeToMono(WebClientServerTransport::prepareGatewayResponse);
+    }
+
+    private static Mono<ResponseEntity<Object>> relay(ClientResponse response) {
+        return response.toEntity(byte[].class)
+                .map(entity -> ResponseEntity.status(entity.getStatusCodeValue())
+                        .headers(ServerTransport.relayHeaders(entity.getHeaders()))
+                        .<Object>body(entity.getBody()));
+    }
+
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        if (response.statusCode().is2xxSuccessful()) {
+            return response.toEntity(Object.class);
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.rawStatusCode());
+        if (response.statusCode() == HttpStatus.NOT_MODIFIED) {
+            return response.releaseBody()
+                    .then(Mono.fromSupplier(() -> responseBuilder
+                            .headers(ServerTransport.relayHeaders(response.headers().asHttpHeaders()))
+                            .<Object>build()));
+        }
+        return response.bodyToMono(byte[].class)
+                .map(bytes -> responseBuilder.<Object>body(bytes))
+                .defaultIfEmpty(responseBuilder.build());
+    }
+}
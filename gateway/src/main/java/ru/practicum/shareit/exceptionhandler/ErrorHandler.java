@@ -8,6 +8,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.exceptionhandler.exceptions.DateTimeBookingException;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice("ru.practicum.shareit")
 @Slf4j
 public class ErrorHandler {
@@ -19,6 +21,13 @@ public class ErrorHandler {
         return new ErrorResponse(exception.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse forwardingRejectedHandle(RejectedExecutionException exception) {
+        log.warn("Очередь запросов к server переполнена \n {}", exception.getMessage());
+        return new ErrorResponse("Сервис перегружен, повторите запрос позже");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse validationExceptionHandle(MethodArgumentNotValidException exception) {
@@ -3,15 +3,17 @@ package ru.practicum.shareit.item;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemForUpdateDto;
 import ru.practicum.shareit.item.dto.ItemRegisterDto;
@@ -21,20 +23,15 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(ServerTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> getItemById(long userId, Long itemId) {
+    public Mono<ResponseEntity<Object>> getItemById(long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getOwnerItems(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getOwnerItems(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +39,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findItemsByText(long userId, String regEx, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findItemsByText(long userId, String regEx, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", regEx,
                 "from", from,
@@ -51,15 +48,24 @@ public class ItemClient extends BaseClient {
         return get("/search" + "?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> saveNewItem(long userId, ItemRegisterDto itemDto) {
+    public Mono<ResponseEntity<Object>> saveNewItem(long userId, ItemRegisterDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemForUpdateDto itemDto) {
+    /**
+     * Тело импорта пересылается как есть, с исходным Content-Type (JSON-массив или NDJSON).
+     */
+    public Mono<ResponseEntity<Object>> importItems(long userId, MediaType contentType, byte[] items) {
+        HttpHeaders headers = ServerTransport.defaultHeaders(userId);
+        headers.setContentType(contentType);
+        return transport.exchange(HttpMethod.POST, "/bulk", headers, null, items);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemForUpdateDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getOwnerBookings(long userId, BookingState state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -68,11 +74,11 @@ public class ItemClient extends BaseClient {
         return get("/owner" + "?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> deleteItem(long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> deleteItem(long userId, long itemId) {
         return delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> addNewComment(long userId, long itemId, CommentDto comment) {
+    public Mono<ResponseEntity<Object>> addNewComment(long userId, long itemId, CommentDto comment) {
         return post("/" + itemId + "/comment", userId, comment);
     }
 }
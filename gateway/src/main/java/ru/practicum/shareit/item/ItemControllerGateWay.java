@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,56 +26,67 @@ public class ItemControllerGateWay {
     private final ItemClient itemClient;
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> getItemById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @PathVariable Long itemId) {
         log.info("GateWay GET запрос на получение предмета по ID {}, от пользователя ID {}", itemId, userId);
         return itemClient.getItemById(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(defaultValue = "1") @Positive Integer from,
-                                                @RequestParam(defaultValue = "10") @Positive Integer size) {
+    public Mono<ResponseEntity<Object>> getOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @RequestParam(defaultValue = "1") @Positive Integer from,
+                                                      @RequestParam(defaultValue = "10") @Positive Integer size) {
         log.info("GateWay GET запрос на получение всех предметов владельца по ID {}", userId);
         return itemClient.getOwnerItems(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findItemsByText(@RequestParam("text") String regEx,
-                                                  @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(defaultValue = "1") @Positive Integer from,
-                                                  @RequestParam(defaultValue = "10") @Positive Integer size) {
+    public Mono<ResponseEntity<Object>> findItemsByText(@RequestParam("text") String regEx,
+                                                        @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @RequestParam(defaultValue = "1") @Positive Integer from,
+                                                        @RequestParam(defaultValue = "10") @Positive Integer size) {
         log.info("GateWay GET запрос на поиск предметов по ключевому слову {}", regEx);
         return itemClient.findItemsByText(userId, regEx, from, size);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addNewItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestBody @Valid ItemRegisterDto itemRegisterDto) {
+    public Mono<ResponseEntity<Object>> addNewItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestBody @Valid ItemRegisterDto itemRegisterDto) {
         log.info("Получен POST запрос на добавление новой вещи от пользователя ID {}, вещи {}", userId, itemRegisterDto);
         return itemClient.saveNewItem(userId, itemRegisterDto);
     }
 
+    /**
+     * Строки импорта проверяет server: ошибка в одной строке не должна отклонять весь пакет.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Object>> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    @RequestBody byte[] items) {
+        log.info("GateWay POST запрос на импорт вещей от пользователя ID {}, {} байт", userId, items.length);
+        return itemClient.importItems(userId, contentType, items);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable Long itemId,
-                                             @RequestBody @Valid ItemForUpdateDto itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long itemId,
+                                                   @RequestBody @Valid ItemForUpdateDto itemDto) {
         log.info("GateWay PATCH запрос на обновление вещи ID {}, пользователя ID {}, информация обновления: \n {}",
                 itemId, userId, itemDto);
         return itemClient.updateItem(userId, itemId, itemDto);
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> deleteItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long itemId) {
         log.info("GateWay DELETE запрос на удаление вещи из БД");
         return itemClient.deleteItem(userId, itemId);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addNewComment(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @PathVariable Long itemId,
-                                                @RequestBody @Valid CommentDto comment) {
+    public Mono<ResponseEntity<Object>> addNewComment(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @PathVariable Long itemId,
+                                                      @RequestBody @Valid CommentDto comment) {
         return itemClient.addNewComment(userId, itemId, comment);
     }
 }
@@ -3,14 +3,12 @@ package ru.practicum.shareit.request;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
 
 @Service
@@ -18,24 +16,19 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public RequestClient(ServerTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> addNewRequest(long userId, NewItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> addNewRequest(long userId, NewItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getOwnUserItemRequests(long userId) {
+    public Mono<ResponseEntity<Object>> getOwnUserItemRequests(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getUsersItemRequests(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getUsersItemRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -44,7 +37,7 @@ public class RequestClient extends BaseClient {
     }
 
 
-    public ResponseEntity<Object> getRequestById(long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> getRequestById(long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserRegisterDto;
 
@@ -20,32 +21,32 @@ public class UserControllerGateWay {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         log.info("GateWay GET запрос на получение всех пользователей");
         return userClient.getAllUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable Long userId) {
         log.info("GateWay GET запрос на получение пользователя по ID {}", userId);
         return userClient.getUserById(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> saveNewUser(@RequestBody @Valid UserRegisterDto userRegisterDto) {
+    public Mono<ResponseEntity<Object>> saveNewUser(@RequestBody @Valid UserRegisterDto userRegisterDto) {
         log.info("GateWay POST запрос на сохранение пользователя {}", userRegisterDto);
         return userClient.saveUser(userRegisterDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody UserDto userDto,
-                                             @PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> updateUser(@RequestBody UserDto userDto,
+                                                   @PathVariable Long userId) {
         log.info("GateWay PATCH запрос на обновление данных пользователя ID {}. Новые данные: \n {}", userId, userDto);
         return userClient.updateUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable Long userId) {
         log.info("Получен DELETE запрос на удаление пользователя по ID {}", userId);
         return userClient.deleteUser(userId);
     }
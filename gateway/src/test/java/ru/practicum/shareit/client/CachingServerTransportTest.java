@@ -0,0 +1,130 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class CachingServerTransportTest {
+    private static final Map<String, Object> PARAMETERS = Map.of("id", 1L);
+    private static final String ETAG = "\"0a1b2c\"";
+
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private final Deque<Mono<ResponseEntity<Object>>> serverResponses = new ArrayDeque<>();
+    private GatewayResponseCache cache;
+    private CachingServerTransport itemTransport;
+    private CachingServerTransport bookingTransport;
+
+    @BeforeEach
+    void setUp() {
+        ServerTransport server = (method, path, headers, parameters, body) -> {
+            serverCalls.incrementAndGet();
+            Mono<ResponseEntity<Object>> response = serverResponses.poll();
+            return response != null ? response : Mono.just(ResponseEntity.ok().eTag(ETAG).<Object>body("ответ"));
+        };
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        cache = new GatewayResponseCache(properties);
+        itemTransport = new CachingServerTransport(server, "/items", cache);
+        bookingTransport = new CachingServerTransport(server, "/bookings", cache);
+    }
+
+    @Test
+    void testExchange_ShouldReturnCachedResponse_WhenNothingWasWritten() {
+        // do
+        getItem();
+        getItem();
+
+        // expect
+        assertThat(serverCalls.get(), equalTo(1));
+    }
+
+    @Test
+    void testExchange_ShouldReturnNotModified_WhenIfNoneMatchEqualsCachedEtag() {
+        // given
+        getItem();
+        HttpHeaders conditional = userHeaders();
+        conditional.setIfNoneMatch(ETAG);
+
+        // do
+        ResponseEntity<Object> response = itemTransport.exchange(HttpMethod.GET, "/{id}", conditional,
+                PARAMETERS, null).block();
+
+        // expect
+        assertThat(serverCalls.get(), equalTo(1));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(response.getHeaders().getETag(), equalTo(ETAG));
+        assertThat(response.hasBody(), equalTo(false));
+    }
+
+    @Test
+    void testExchange_ShouldReturnCachedBodyWithEtag_WhenIfNoneMatchDiffers() {
+        // given
+        getItem();
+        HttpHeaders conditional = userHeaders();
+        conditional.setIfNoneMatch("\"устаревший\"");
+
+        // do
+        ResponseEntity<Object> response = itemTransport.exchange(HttpMethod.GET, "/{id}", conditional,
+                PARAMETERS, null).block();
+
+        // expect
+        assertThat(serverCalls.get(), equalTo(1));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getETag(), equalTo(ETAG));
+        assertThat(response.getBody(), equalTo("ответ"));
+    }
+
+    @Test
+    void testExchange_ShouldMissCache_WhenDependentResourceWritten() {
+        // given
+        getItem();
+
+        // do
+        bookingTransport.exchange(HttpMethod.POST, "", userHeaders(), null, "{}").block();
+        getItem();
+
+        // expect
+        assertThat(serverCalls.get(), equalTo(3));
+        assertThat(cache.generation("/items"), equalTo(2L));
+    }
+
+    @Test
+    void testExchange_ShouldNotServeResponse_WhenWriteFinishedWhileReadWasInFlight() {
+        // given
+        Sinks.One<ResponseEntity<Object>> slowRead = Sinks.one();
+        serverResponses.add(slowRead.asMono());
+        Mono<ResponseEntity<Object>> read = itemTransport.exchange(HttpMethod.GET, "/{id}", userHeaders(),
+                PARAMETERS, null);
+        read.subscribe();
+
+        // do
+        itemTransport.exchange(HttpMethod.PATCH, "/{id}", userHeaders(), PARAMETERS, "{}").block();
+        slowRead.tryEmitValue(ResponseEntity.<Object>ok("старый ответ"));
+        ResponseEntity<Object> afterWrite = getItem();
+
+        // expect
+        assertThat(serverCalls.get(), equalTo(3));
+        assertThat(afterWrite.getBody(), equalTo("ответ"));
+        assertThat(cache.getCache().estimatedSize(), equalTo(1L));
+    }
+
+    private ResponseEntity<Object> getItem() {
+        return itemTransport.exchange(HttpMethod.GET, "/{id}", userHeaders(), PARAMETERS, null).block();
+    }
+
+    private static HttpHeaders userHeaders() {
+        return ServerTransport.defaultHeaders(1L);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RestTemplateServerTransportTest {
+    private static final String URL = "http://localhost/items/1";
+    private static final String ETAG = "\"0a1b2c\"";
+
+    private MockRestServiceServer server;
+    private RestTemplateServerTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        server = MockRestServiceServer.bindTo(rest).build();
+        transport = new RestTemplateServerTransport(rest, true);
+    }
+
+    @Test
+    void testExchange_ShouldRelayEtag_WhenServerRespondsOk() {
+        // given
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag(ETAG);
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(responseHeaders));
+
+        // do
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, URL, ServerTransport.defaultHeaders(1L),
+                null, null).block();
+
+        // expect
+        server.verify();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getETag(), equalTo(ETAG));
+    }
+
+    @Test
+    void testExchange_ShouldRelayNotModifiedWithEtag_WhenIfNoneMatchForwarded() {
+        // given
+        HttpHeaders requestHeaders = ServerTransport.defaultHeaders(1L);
+        requestHeaders.setIfNoneMatch(ETAG);
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag(ETAG);
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(responseHeaders));
+
+        // do
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, URL, requestHeaders,
+                Map.of(), null).block();
+
+        // expect
+        server.verify();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(response.getHeaders().getETag(), equalTo(ETAG));
+        assertThat(response.hasBody(), equalTo(false));
+    }
+}
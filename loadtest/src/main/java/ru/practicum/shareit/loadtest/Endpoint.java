@@ -0,0 +1,34 @@
+package ru.practicum.shareit.loadtest;
+
+/**
+ * Операции смешанной нагрузки. Вес задаёт долю операции в нагрузке,
+ * переопределяется параметром weight.&lt;key&gt;.
+ */
+public enum Endpoint {
+    SEARCH_ITEMS("search", "GET /items/search", 40),
+    OWNER_ITEMS("ownerItems", "GET /items", 30),
+    CREATE_BOOKING("createBooking", "POST /bookings", 20),
+    APPROVE_BOOKING("approveBooking", "PATCH /bookings/{id}", 10);
+
+    private final String key;
+    private final String title;
+    private final int defaultWeight;
+
+    Endpoint(String key, String title, int defaultWeight) {
+        this.key = key;
+        this.title = title;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+}
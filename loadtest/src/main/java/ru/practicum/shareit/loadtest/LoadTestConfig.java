@@ -0,0 +1,110 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного теста. Задаются аргументами вида key=value, например
+ * {@code users=200 durationSeconds=120 threads=32}.
+ */
+public class LoadTestConfig {
+    private final Map<String, String> values;
+
+    private LoadTestConfig(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static LoadTestConfig fromArgs(final String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Аргумент должен иметь вид key=value: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(values);
+    }
+
+    public Path getBaseDir() {
+        return Path.of(getString("baseDir", "."));
+    }
+
+    public Path getServerJar() {
+        return getBaseDir().resolve(getString("serverJar", "server/target/shareit-server-0.0.1-SNAPSHOT.jar"));
+    }
+
+    public Path getGatewayJar() {
+        return getBaseDir().resolve(getString("gatewayJar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"));
+    }
+
+    public Path getOutputDir() {
+        return getBaseDir().resolve(getString("outputDir", "loadtest/target/loadtest"));
+    }
+
+    public int getServerPort() {
+        return getInt("serverPort", 19090);
+    }
+
+    public int getGatewayPort() {
+        return getInt("gatewayPort", 18080);
+    }
+
+    /**
+     * По умолчанию сервер работает на H2 в режиме совместимости с PostgreSQL.
+     * Для прогона на настоящей БД достаточно передать dbUrl=jdbc:postgresql://...
+     */
+    public String getDbUrl() {
+        return getString("dbUrl", "jdbc:h2:mem:shareit;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    public String getDbUser() {
+        return getString("dbUser", "test");
+    }
+
+    public String getDbPassword() {
+        return getString("dbPassword", "test");
+    }
+
+    public int getUsers() {
+        return getInt("users", 50);
+    }
+
+    public int getItemsPerUser() {
+        return getInt("itemsPerUser", 10);
+    }
+
+    public int getBookingsPerItem() {
+        return getInt("bookingsPerItem", 2);
+    }
+
+    public int getThreads() {
+        return getInt("threads", 16);
+    }
+
+    public int getWarmupSeconds() {
+        return getInt("warmupSeconds", 10);
+    }
+
+    public int getDurationSeconds() {
+        return getInt("durationSeconds", 60);
+    }
+
+    public int getStartupTimeoutSeconds() {
+        return getInt("startupTimeoutSeconds", 120);
+    }
+
+    public int getWeight(final Endpoint endpoint) {
+        return getInt("weight." + endpoint.getKey(), endpoint.getDefaultWeight());
+    }
+
+    private String getString(final String key, final String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    private int getInt(final String key, final int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Точка входа нагрузочного теста: поднимает server и gateway, заполняет БД,
+ * прогревает и замеряет смешанную нагрузку, печатает пропускную способность и перцентили задержек.
+ * Полные HDR-распределения сохраняются в outputDir/&lt;операция&gt;.hgrm.
+ */
+public class LoadTestRunner {
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+
+        try (ShareItProcesses processes = new ShareItProcesses(config)) {
+            processes.start();
+
+            Workload workload = new Workload(config, new ShareItApi(processes.getGatewayUrl(), stats));
+            workload.seed(new ShareItApi(processes.getGatewayUrl(), null));
+
+            System.out.printf("Прогрев %d с...%n", config.getWarmupSeconds());
+            drive(workload, config.getThreads(), config.getWarmupSeconds());
+            stats.values().forEach(EndpointStats::reset);
+
+            System.out.printf("Замер %d с, потоков: %d...%n", config.getDurationSeconds(), config.getThreads());
+            long startNanos = System.nanoTime();
+            long failures = drive(workload, config.getThreads(), config.getDurationSeconds());
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+            report(stats, elapsedSeconds, failures, config.getOutputDir());
+        }
+    }
+
+    private static long drive(final Workload workload, final int threads, final int seconds)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong failures = new AtomicLong();
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    try {
+                        workload.runOnce();
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        return failures.get();
+    }
+
+    private static void report(final Map<Endpoint, EndpointStats> stats, final double elapsedSeconds,
+                               final long failures, final Path outputDir) throws IOException {
+        System.out.printf("%n%-22s %9s %7s %9s %9s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats endpointStats : stats.values()) {
+            Histogram histogram = endpointStats.getLatencies();
+            System.out.printf("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpointStats.getEndpoint().getTitle(),
+                    histogram.getTotalCount(),
+                    endpointStats.getErrors(),
+                    histogram.getTotalCount() / elapsedSeconds,
+                    histogram.getValueAtPercentile(50) / NANOS_IN_MILLI,
+                    histogram.getValueAtPercentile(90) / NANOS_IN_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_IN_MILLI,
+                    histogram.getValueAtPercentile(99.9) / NANOS_IN_MILLI,
+                    histogram.getMaxValue() / NANOS_IN_MILLI);
+
+            Path hgrm = outputDir.resolve(endpointStats.getEndpoint().getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(hgrm.toFile(), "UTF-8")) {
+                histogram.outputPercentileDistribution(out, NANOS_IN_MILLI);
+            }
+        }
+        if (failures > 0) {
+            System.out.printf("Операций, завершившихся исключением (сетевые ошибки и т.п.): %d%n", failures);
+        }
+        System.out.printf("HDR-распределения (мс) сохранены в %s%n", outputDir);
+    }
+}
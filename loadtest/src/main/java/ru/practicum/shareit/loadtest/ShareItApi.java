@@ -0,0 +1,153 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * HTTP-клиент к gateway. Вызовы с переданной статистикой замеряются,
+ * вызовы при заполнении БД ({@code stats == null}) — нет.
+ */
+public class ShareItApi {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Map<Endpoint, EndpointStats> stats;
+
+    public ShareItApi(String baseUrl, Map<Endpoint, EndpointStats> stats) {
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public long createUser(final String name, final String email) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("name", name)
+                .put("email", email);
+        return readId(send(null, post("/users", null, body)));
+    }
+
+    public long createItem(final long ownerId, final String name, final String description) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("name", name)
+                .put("description", description)
+                .put("available", true);
+        return readId(send(null, post("/items", ownerId, body)));
+    }
+
+    public Long createBooking(final long bookerId, final long itemId, final LocalDateTime start,
+                              final LocalDateTime end) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("itemId", itemId)
+                .put("start", start.toString())
+                .put("end", end.toString());
+        HttpResponse<String> response = send(Endpoint.CREATE_BOOKING, post("/bookings", bookerId, body));
+        return isSuccess(response) ? readId(response) : null;
+    }
+
+    public void approveBooking(final long ownerId, final long bookingId) {
+        HttpRequest request = request("/bookings/" + bookingId + "?approved=true", ownerId)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+        send(Endpoint.APPROVE_BOOKING, request);
+    }
+
+    public void searchItems(final long userId, final String text, final int size) {
+        HttpRequest request = request("/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8)
+                + "&from=1&size=" + size, userId)
+                .GET()
+                .build();
+        send(Endpoint.SEARCH_ITEMS, request);
+    }
+
+    public void getOwnerItems(final long ownerId, final int size) {
+        HttpRequest request = request("/items?from=1&size=" + size, ownerId)
+                .GET()
+                .build();
+        send(Endpoint.OWNER_ITEMS, request);
+    }
+
+    public boolean isUp(final String healthUrl) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(healthUrl))
+                    .timeout(Duration.ofSeconds(2))
+                    .GET()
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest post(final String path, final Long userId, final ObjectNode body) {
+        try {
+            return request(path, userId)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(final String path, final Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (userId != null) {
+            builder.header(USER_HEADER, String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(final Endpoint endpoint, final HttpRequest request) {
+        long startNanos = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запрос прерван: " + request.uri(), e);
+        } finally {
+            if (endpoint != null && stats != null) {
+                stats.get(endpoint).record(System.nanoTime() - startNanos, response != null && isSuccess(response));
+            }
+        }
+    }
+
+    private long readId(final HttpResponse<String> response) {
+        if (!isSuccess(response)) {
+            throw new IllegalStateException("Неожиданный ответ " + response.statusCode() + " на "
+                    + response.request().uri() + ": " + response.body());
+        }
+        try {
+            return objectMapper.readTree(response.body()).get("id").asLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isSuccess(final HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запускает server и gateway из собранных jar-файлов в отдельных JVM.
+ * Оба приложения используют пакет ru.practicum.shareit и одноимённые классы,
+ * поэтому в одном classpath их поднять нельзя.
+ */
+public class ShareItProcesses implements AutoCloseable {
+    private final LoadTestConfig config;
+    private final ShareItApi probe;
+    private final List<Process> processes = new ArrayList<>();
+
+    public ShareItProcesses(LoadTestConfig config) {
+        this.config = config;
+        this.probe = new ShareItApi("", null);
+    }
+
+    public void start() throws IOException, InterruptedException {
+        Files.createDirectories(config.getOutputDir());
+
+        boolean h2 = config.getDbUrl().startsWith("jdbc:h2:");
+        List<String> serverArgs = new ArrayList<>(List.of(
+                "--server.port=" + config.getServerPort(),
+                "--spring.datasource.url=" + config.getDbUrl(),
+                "--spring.datasource.username=" + config.getDbUser(),
+                "--spring.datasource.password=" + config.getDbPassword(),
+                "--spring.datasource.driverClassName=" + (h2 ? "org.h2.Driver" : "org.postgresql.Driver"),
+                "--shareit.search.engine=" + (h2 ? "memory" : "postgres"),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        launch("server", config.getServerJar(), serverArgs);
+        awaitHealthy("server", config.getServerPort());
+
+        List<String> gatewayArgs = List.of(
+                "--server.port=" + config.getGatewayPort(),
+                "--shareit-server.url=http://localhost:" + config.getServerPort(),
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+        launch("gateway", config.getGatewayJar(), gatewayArgs);
+        awaitHealthy("gateway", config.getGatewayPort());
+    }
+
+    public String getGatewayUrl() {
+        return "http://localhost:" + config.getGatewayPort();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void launch(final String name, final Path jar, final List<String> args) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Не найден " + jar + ". Соберите проект: mvn package -DskipTests");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(args);
+
+        Path log = config.getOutputDir().resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        processes.add(process);
+        System.out.printf("Запущен %s (pid %d), лог: %s%n", name, process.pid(), log);
+    }
+
+    private void awaitHealthy(final String name, final int port) throws InterruptedException {
+        String healthUrl = "http://localhost:" + port + "/actuator/health";
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getStartupTimeoutSeconds());
+        while (System.nanoTime() < deadline) {
+            if (probe.isUp(healthUrl)) {
+                return;
+            }
+            if (!processes.get(processes.size() - 1).isAlive()) {
+                throw new IllegalStateException(name + " завершился при запуске, см. лог в " + config.getOutputDir());
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        throw new IllegalStateException(name + " не поднялся за " + config.getStartupTimeoutSeconds() + " с");
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Заполняет БД через gateway и выполняет смешанную нагрузку:
+ * поиск, список вещей владельца, создание и подтверждение бронирований.
+ */
+public class Workload {
+    private static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "camera", "kayak", "projector",
+        "hammer", "speaker", "grill", "scooter"};
+    private static final int PAGE_SIZE = 10;
+
+    private final LoadTestConfig config;
+    private final ShareItApi api;
+    private final List<Long> userIds = new ArrayList<>();
+    /**
+     * {itemId, ownerId, bookerId}: бронирует вещь всегда следующий по списку пользователь, не владелец.
+     */
+    private final List<long[]> items = new ArrayList<>();
+    private final Queue<long[]> pendingBookings = new ConcurrentLinkedQueue<>();
+    private final LocalDateTime bookingEpoch = LocalDateTime.now().plusDays(1);
+    private final AtomicLong bookingSlots = new AtomicLong();
+    private final Endpoint[] mix;
+
+    public Workload(LoadTestConfig config, ShareItApi api) {
+        this.config = config;
+        this.api = api;
+        this.mix = buildMix(config);
+    }
+
+    public void seed(final ShareItApi seedApi) {
+        for (int i = 0; i < config.getUsers(); i++) {
+            userIds.add(seedApi.createUser("loadtest-user-" + i, "loadtest-user-" + i + "@shareit.local"));
+        }
+
+        for (int ownerIndex = 0; ownerIndex < userIds.size(); ownerIndex++) {
+            long ownerId = userIds.get(ownerIndex);
+            for (int i = 0; i < config.getItemsPerUser(); i++) {
+                String word = WORDS[(ownerIndex + i) % WORDS.length];
+                long itemId = seedApi.createItem(ownerId, word + " " + ownerIndex + "-" + i,
+                        "Rentable " + word + " number " + i + " of user " + ownerIndex);
+                items.add(new long[]{itemId, ownerId, userIds.get((ownerIndex + 1) % userIds.size())});
+            }
+        }
+
+        for (long[] item : items) {
+            for (int i = 0; i < config.getBookingsPerItem(); i++) {
+                Long bookingId = createBooking(seedApi, item);
+                if (bookingId != null) {
+                    seedApi.approveBooking(item[1], bookingId);
+                }
+            }
+        }
+        System.out.printf("Созданы пользователи: %d, вещи: %d, бронирования: %d%n",
+                userIds.size(), items.size(), items.size() * config.getBookingsPerItem());
+    }
+
+    public void runOnce() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (mix[random.nextInt(mix.length)]) {
+            case SEARCH_ITEMS:
+                api.searchItems(randomUser(random), WORDS[random.nextInt(WORDS.length)], PAGE_SIZE);
+                break;
+            case OWNER_ITEMS:
+                api.getOwnerItems(randomUser(random), PAGE_SIZE);
+                break;
+            case APPROVE_BOOKING:
+                long[] pending = pendingBookings.poll();
+                if (pending != null) {
+                    api.approveBooking(pending[0], pending[1]);
+                    break;
+                }
+                createPendingBooking(random);
+                break;
+            case CREATE_BOOKING:
+            default:
+                createPendingBooking(random);
+        }
+    }
+
+    private void createPendingBooking(final ThreadLocalRandom random) {
+        long[] item = items.get(random.nextInt(items.size()));
+        Long bookingId = createBooking(api, item);
+        if (bookingId != null) {
+            pendingBookings.add(new long[]{item[1], bookingId});
+        }
+    }
+
+    /**
+     * Каждое бронирование получает собственный часовой слот, поэтому бронирования
+     * разных потоков никогда не пересекаются по времени.
+     */
+    private Long createBooking(final ShareItApi client, final long[] item) {
+        LocalDateTime start = bookingEpoch.plusHours(bookingSlots.getAndIncrement());
+        return client.createBooking(item[2], item[0], start, start.plusMinutes(30));
+    }
+
+    private long randomUser(final ThreadLocalRandom random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    private static Endpoint[] buildMix(final LoadTestConfig config) {
+        List<Endpoint> mix = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            for (int i = 0; i < config.getWeight(endpoint); i++) {
+                mix.add(endpoint);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Хотя бы одна операция должна иметь положительный вес");
+        }
+        return mix.toArray(new Endpoint[0]);
+    }
+}
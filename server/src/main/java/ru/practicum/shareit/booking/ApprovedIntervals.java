@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Занятые одобренными бронированиями интервалы [start, end) по вещам. Интервалы одной вещи хранятся
+ * непересекающимися в TreeMap по началу, поэтому проверка нового интервала занимает O(log n).
+ */
+public class ApprovedIntervals {
+    private final Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> itemIntervals = new HashMap<>();
+
+    /**
+     * Добавляет интервал, объединяя его с пересекающимися (в старых данных одобренные бронирования могли пересекаться).
+     */
+    public void add(final Long itemId, final LocalDateTime start, final LocalDateTime end) {
+        NavigableMap<LocalDateTime, LocalDateTime> intervals = intervalsOf(itemId);
+        LocalDateTime mergedStart = start;
+        LocalDateTime mergedEnd = end;
+        Map.Entry<LocalDateTime, LocalDateTime> overlapping = intervals.lowerEntry(mergedEnd);
+
+        while (overlapping != null && overlapping.getValue().isAfter(mergedStart)) {
+            intervals.remove(overlapping.getKey());
+            if (overlapping.getKey().isBefore(mergedStart)) {
+                mergedStart = overlapping.getKey();
+            }
+            if (overlapping.getValue().isAfter(mergedEnd)) {
+                mergedEnd = overlapping.getValue();
+            }
+            overlapping = intervals.lowerEntry(mergedEnd);
+        }
+        intervals.put(mergedStart, mergedEnd);
+    }
+
+    /**
+     * Занимает интервал, если он не пересекается с уже занятыми интервалами вещи.
+     */
+    public boolean tryReserve(final Long itemId, final LocalDateTime start, final LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> closest = intervalsOf(itemId).lowerEntry(end);
+        if (closest != null && closest.getValue().isAfter(start)) {
+            return false;
+        }
+        add(itemId, start, end);
+        return true;
+    }
+
+    private NavigableMap<LocalDateTime, LocalDateTime> intervalsOf(final Long itemId) {
+        return itemIntervals.computeIfAbsent(itemId, id -> new TreeMap<>());
+    }
+}
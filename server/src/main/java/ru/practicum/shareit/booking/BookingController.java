@@ -3,11 +3,17 @@ package ru.practicum.shareit.booking;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingStatusBulkDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
+import ru.practicum.shareit.logging.PayloadLog;
 
+import javax.validation.Valid;
 import java.util.List;
 
 @Slf4j
@@ -15,6 +21,8 @@ import java.util.List;
 @Validated
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
     @Autowired
@@ -25,8 +33,8 @@ public class BookingController {
     @PostMapping
     public BookingDto bookingAddNewRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
                                            @RequestBody BookingRequestDto bookingRequestDto) {
-        log.info("Получен POST запрос на создание запроса бронирования от пользователя ID {}, запрос: \n {}",
-                userId, bookingRequestDto);
+        log.info("Получен POST запрос на создание запроса бронирования от пользователя ID {}", userId);
+        PayloadLog.debug("Запрос бронирования: \n {}", bookingRequestDto);
         return bookingService.addNewRequest(userId, bookingRequestDto);
     }
 
@@ -39,6 +47,15 @@ public class BookingController {
         return bookingService.ownerChangeStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping("/bulk")
+    public List<BookingStatusResultDto> ownerChangeStatuses(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @RequestBody @Valid BookingStatusBulkDto bulkDto,
+                                                            @RequestParam(value = "approved") Boolean approved) {
+        log.info("Получен PATCH запрос от владельца по ID {} на изменение статуса {} бронирований на '{}'",
+                userId, bulkDto.getBookingIds().size(), approved);
+        return bookingService.ownerChangeStatuses(userId, bulkDto.getBookingIds(), approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                      @PathVariable Long bookingId) {
@@ -46,25 +63,48 @@ public class BookingController {
         return bookingService.getBookingById(userId, bookingId);
     }
 
+    /**
+     * Без параметра cursor страница выбирается по from/size. С параметром cursor (пустым для первой страницы)
+     * выборка идёт по ключу (start_date, id), а курсор следующей страницы возвращается в заголовке X-Next-Cursor.
+     */
     @GetMapping
-    public List<BookingDto> getBookingByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @RequestParam() String state,
-                                               @RequestParam() Integer from,
-                                               @RequestParam() Integer size) {
+    public ResponseEntity<List<BookingDto>> getBookingByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam() String state,
+                                                               @RequestParam(defaultValue = "0") Integer from,
+                                                               @RequestParam() Integer size,
+                                                               @RequestParam(required = false) String cursor) {
         log.info("Получен GET запрос от пользователя по ID {} на получение своих бронирований. Правило получения: {}",
                 userId, state);
+        if (cursor != null) {
+            return makeCursorResponse(bookingService.getBookingByUserId(userId, state, cursor, size));
+        }
+
         PageRequest pageRequest = PageRequest.of(from / size, size);
-        return bookingService.getBookingByUserId(userId, state, pageRequest);
+        return ResponseEntity.ok(bookingService.getBookingByUserId(userId, state, pageRequest));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(defaultValue = "ALL") String state,
-                                             @RequestParam(defaultValue = "1") Integer from,
-                                             @RequestParam(defaultValue = "10") Integer size) {
+    public ResponseEntity<List<BookingDto>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(defaultValue = "ALL") String state,
+                                                             @RequestParam(defaultValue = "1") Integer from,
+                                                             @RequestParam(defaultValue = "10") Integer size,
+                                                             @RequestParam(required = false) String cursor) {
         log.info("Получен GET запрос от владельца ID {} на получение своих забронированных вещей. Правило получения: {}",
                 userId, state);
+        if (cursor != null) {
+            return makeCursorResponse(bookingService.getOwnerBookings(userId, state, cursor, size));
+        }
+
         PageRequest pageRequest = PageRequest.of(from / size, size);
-        return bookingService.getOwnerBookings(userId, state, pageRequest);
+        return ResponseEntity.ok(bookingService.getOwnerBookings(userId, state, pageRequest));
+    }
+
+    private ResponseEntity<List<BookingDto>> makeCursorResponse(final BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 }
@@ -2,7 +2,9 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
 
 import java.util.List;
 
@@ -12,9 +14,16 @@ public interface BookingService {
 
     BookingDto ownerChangeStatus(final Long userId, final Long bookingId, final Boolean approved);
 
+    List<BookingStatusResultDto> ownerChangeStatuses(final Long userId, final List<Long> bookingIds,
+                                                     final Boolean approved);
+
     BookingDto getBookingById(final Long userId, final Long bookingId);
 
     List<BookingDto> getBookingByUserId(final Long userId, final String state, final Pageable page);
 
     List<BookingDto> getOwnerBookings(final Long userId, final String state, final Pageable page);
+
+    BookingPageDto getBookingByUserId(final Long userId, final String state, final String cursor, final Integer size);
+
+    BookingPageDto getOwnerBookings(final Long userId, final String state, final String cursor, final Integer size);
 }
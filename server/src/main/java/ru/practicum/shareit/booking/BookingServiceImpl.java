@@ -2,22 +2,33 @@ package ru.practicum.shareit.booking;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.repository.BookingCursor;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingRow;
+import ru.practicum.shareit.concurrent.OptimisticLockRetry;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.logging.PayloadLog;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,12 +37,17 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingStorage;
     private final ItemRepository itemStorage;
     private final UserRepository userStorage;
+    private final UserIdRegistry userIds;
+    private final TransactionOperations transactions;
 
     @Autowired
-    public BookingServiceImpl(BookingRepository bookingStorage, ItemRepository itemStorage, UserRepository userStorage) {
+    public BookingServiceImpl(BookingRepository bookingStorage, ItemRepository itemStorage, UserRepository userStorage,
+                              UserIdRegistry userIds, TransactionOperations transactions) {
         this.bookingStorage = bookingStorage;
         this.itemStorage = itemStorage;
         this.userStorage = userStorage;
+        this.userIds = userIds;
+        this.transactions = transactions;
     }
 
     @Override
@@ -56,13 +72,23 @@ public class BookingServiceImpl implements BookingService {
         bookingRequest.setStatus(BookingStatusType.WAITING);
 
         Booking savedBooking = bookingStorage.save(bookingRequest);
-        log.info("Обработан запрос на новое бронирование от пользователя ID {}, по запросу: \n {}",
-                userId, bookingRequestDto);
+        log.info("Обработан запрос на новое бронирование ID {} от пользователя ID {} на вещь ID {}",
+                savedBooking.getId(), userId, itemId);
+        PayloadLog.debug("Новое бронирование по запросу: \n {}", bookingRequestDto);
         return BookingMapper.bookingToBookingDto(savedBooking);
     }
 
+    /**
+     * Каждая попытка выполняется в своей транзакции: блокировка вещи держится от проверки пересечения
+     * до фиксации нового статуса.
+     */
     @Override
     public BookingDto ownerChangeStatus(Long userId, Long bookingId, Boolean approved) {
+        return OptimisticLockRetry.execute("изменение статуса бронирования ID " + bookingId,
+                () -> transactions.execute(status -> changeStatus(userId, bookingId, approved)));
+    }
+
+    private BookingDto changeStatus(final Long userId, final Long bookingId, final Boolean approved) {
         Booking booking = bookingStorage.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Бронирование не найдено по ID " + bookingId));
 
@@ -75,23 +101,70 @@ public class BookingServiceImpl implements BookingService {
         }
 
         if (approved.equals(true)) {
+            itemStorage.lockById(booking.getItem().getId());
+            checkNoApprovedOverlap(booking);
             booking.setStatus(BookingStatusType.APPROVED);
         } else if (approved.equals(false)) {
             booking.setStatus(BookingStatusType.REJECTED);
         }
 
-        Booking savedBooking = bookingStorage.save(booking);
-        log.info("Обновлены данные владелцем, результат сохранения: \n {}", savedBooking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingStorage.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new BookingConflictException("Вещь уже забронирована на пересекающийся период. Бронирование ID "
+                    + bookingId);
+        }
+        log.info("Обновлены данные владелцем, бронирование ID {} в статусе {}", savedBooking.getId(),
+                savedBooking.getStatus());
+        PayloadLog.debug("Результат сохранения бронирования: \n {}", savedBooking);
         return BookingMapper.bookingToBookingDto(savedBooking);
     }
 
+    /**
+     * Все изменения применяются одним UPDATE в одной транзакции. Отказ по отдельному бронированию
+     * (не найдено, чужая вещь, уже одобрено, пересечение периодов) попадает в результат и не отменяет остальные.
+     */
+    @Override
+    @Transactional
+    public List<BookingStatusResultDto> ownerChangeStatuses(Long userId, List<Long> bookingIds, Boolean approved) {
+        Set<Long> requestedIds = new LinkedHashSet<>(bookingIds);
+        if (approved) {
+            lockOwnerItems(userId, requestedIds);
+        }
+        Map<Long, Booking> bookings = bookingStorage.findAllWithItemByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        BookingStatusType newStatus = approved ? BookingStatusType.APPROVED : BookingStatusType.REJECTED;
+        ApprovedIntervals approvedIntervals = approved ? loadApprovedIntervals(userId, bookings.values()) : null;
+
+        List<BookingStatusResultDto> results = new ArrayList<>(requestedIds.size());
+        List<Long> changedIds = new ArrayList<>(requestedIds.size());
+        for (Long bookingId : requestedIds) {
+            String error = checkStatusChange(userId, bookingId, bookings.get(bookingId), approvedIntervals);
+            if (error != null) {
+                results.add(new BookingStatusResultDto(bookingId, null, error));
+            } else {
+                changedIds.add(bookingId);
+                results.add(new BookingStatusResultDto(bookingId, newStatus, null));
+            }
+        }
+
+        if (!changedIds.isEmpty() && updateStatuses(changedIds, newStatus) != changedIds.size()) {
+            throw new OptimisticLockingFailureException("Статус части бронирований был изменён параллельным " +
+                    "запросом, пакет не применён");
+        }
+        log.info("Владелец ID {} изменил статус {} бронирований на {}, отказов: {}", userId, changedIds.size(),
+                newStatus, results.size() - changedIds.size());
+        return results;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BookingDto getBookingById(Long userId, Long bookingId) {
         Booking booking = bookingStorage.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Бронирование не найдено по ID " + bookingId));
-        log.info("Получено бронирование с БД по ID {}, пользователю ID {} Бронирование: \n {}", bookingId, userId,
-                booking);
+        log.info("Получено бронирование с БД по ID {}, пользователю ID {}", bookingId, userId);
+        PayloadLog.debug("Бронирование ID {}: \n {}", bookingId, booking);
 
         if (!booking.getBooker().getId().equals(userId) && !booking.getItem().getOwner().equals(userId)) {
             throw new PermissionException("У вас недостаточно прав для получения бронирования по ID " + booking.getId());
@@ -102,97 +175,128 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public List<BookingDto> getBookingByUserId(Long userId, String state, Pageable page) {
-        if (!userStorage.existsById(userId)) {
+        if (!userIds.exists(userId)) {
             throw new UserNotFoundException("Пользователь не найден по ID " + userId);
         }
 
-        List<Booking> bookings;
+        List<BookingRow> bookings;
 
         switch (state.toUpperCase()) {
             case "ALL":
                 bookings = bookingStorage.findAllByBookerId(userId, page);
-                log.info("Получен список бронирований с БД по пользователю ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             case "CURRENT":
                 bookings = bookingStorage.findAllCurrentBookings(userId, LocalDateTime.now(), page);
-                log.info("Получен список бронирований с БД по пользователю ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             case "PAST":
                 bookings = bookingStorage.findAllPastBookings(userId, LocalDateTime.now(), page);
-                log.info("Получен список бронирований с БД по пользователю ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             case "FUTURE":
                 bookings = bookingStorage.findAllFutureBookings(userId, page);
-                log.info("Получен список бронирований с БД по пользователю ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             case "WAITING":
                 bookings = bookingStorage.findAllByBookerAndStatus(userId, BookingStatusType.WAITING, page);
-                log.info("Получен список бронирований с БД по пользователю ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             case "REJECTED":
                 bookings = bookingStorage.findAllByBookerAndStatus(userId, BookingStatusType.REJECTED, page);
-                log.info("Получен список бронирований с БД по пользователю ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             default:
                 log.info("Запрос получения списка бронирования не получилось обработать. Пользователь ID {}," +
                         " статус: \'{}\'", userId, state);
                 return Collections.emptyList();
-
         }
+        log.info("Получен список бронирований с БД по пользователю ID {} с статусом: \'{}\', бронирования: {}",
+                userId, state, LogSummary.of(bookings, BookingRow::getId));
+        PayloadLog.debug("Бронирования по пользователю ID {}: \n {}", userId, bookings);
+        return bookings.stream().map(BookingMapper::bookingRowToBookingDto).collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BookingDto> getOwnerBookings(Long userId, String state, Pageable page) {
-        if (!userStorage.existsById(userId)) {
+        if (!userIds.exists(userId)) {
             throw new UserNotFoundException("Пользователь не найден по ID " + userId);
         }
 
-        List<Booking> bookings;
+        List<BookingRow> bookings;
 
         switch (state.toUpperCase()) {
             case "ALL":
                 bookings = bookingStorage.findAllOwnerItemBookings(userId, page);
-                log.info("Получен список бронирований с БД по владельцу ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             case "CURRENT":
                 bookings = bookingStorage.findAllOwnerCurrentBookings(userId, LocalDateTime.now(), page);
-                log.info("Получен список бронирований с БД по владельцу ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             case "PAST":
                 bookings = bookingStorage.findAllPastOwnerItemBookings(userId, LocalDateTime.now(), page);
-                log.info("Получен список бронирований с БД по владельцу ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             case "FUTURE":
                 bookings = bookingStorage.findAllFutureOwnerItemBookings(userId, LocalDateTime.now(), page);
-                log.info("Получен список бронирований с БД по владельцу ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             case "WAITING":
                 bookings = bookingStorage.findAllOwnerItemBookedByStatus(userId, BookingStatusType.WAITING, page);
-                log.info("Получен список бронирований с БД по владельцу ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             case "REJECTED":
                 bookings = bookingStorage.findAllOwnerItemBookedByStatus(userId, BookingStatusType.REJECTED, page);
-                log.info("Получен список бронирований с БД по владельцу ID {} с статусом: \'{}\'," +
-                        " Бронирования: \n {}", userId, state, bookings);
-                return bookings.stream().map(BookingMapper::bookingToBookingDto).collect(Collectors.toList());
+                break;
             default:
                 log.info("Запрос получения списка бронирования не получилось обработать. Пользователь ID {}," +
                         " статус: \'{}\'", userId, state);
                 return Collections.emptyList();
+        }
+        log.info("Получен список бронирований с БД по владельцу ID {} с статусом: \'{}\', бронирования: {}",
+                userId, state, LogSummary.of(bookings, BookingRow::getId));
+        PayloadLog.debug("Бронирования по владельцу ID {}: \n {}", userId, bookings);
+        return bookings.stream().map(BookingMapper::bookingRowToBookingDto).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPageDto getBookingByUserId(Long userId, String state, String cursor, Integer size) {
+        if (!userIds.exists(userId)) {
+            throw new UserNotFoundException("Пользователь не найден по ID " + userId);
+        }
+
+        BookingCursor after = BookingCursor.decode(cursor);
+        BookingPageDto page = BookingState.from(state)
+                .map(bookingState -> makeBookingPage(bookingStorage.findBookerBookingsAfter(userId, bookingState,
+                        LocalDateTime.now(), after, size + 1), size))
+                .orElseGet(() -> new BookingPageDto(Collections.emptyList(), null));
+        log.info("Получена страница бронирований с БД по пользователю ID {} с статусом: \'{}\', после курсора {}." +
+                " Количество: {}", userId, state, cursor, page.getBookings().size());
+        return page;
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPageDto getOwnerBookings(Long userId, String state, String cursor, Integer size) {
+        if (!userIds.exists(userId)) {
+            throw new UserNotFoundException("Пользователь не найден по ID " + userId);
         }
+
+        BookingCursor after = BookingCursor.decode(cursor);
+        BookingPageDto page = BookingState.from(state)
+                .map(bookingState -> makeBookingPage(bookingStorage.findOwnerBookingsAfter(userId, bookingState,
+                        LocalDateTime.now(), after, size + 1), size))
+                .orElseGet(() -> new BookingPageDto(Collections.emptyList(), null));
+        log.info("Получена страница бронирований с БД по владельцу ID {} с статусом: \'{}\', после курсора {}." +
+                " Количество: {}", userId, state, cursor, page.getBookings().size());
+        return page;
+    }
+
+    /**
+     * Репозиторий запрашивается на одну запись больше размера страницы: её наличие означает,
+     * что следующая страница существует.
+     */
+    private BookingPageDto makeBookingPage(final List<BookingRow> bookings, final int size) {
+        List<BookingRow> pageBookings = bookings.size() > size ? bookings.subList(0, size) : bookings;
+        String nextCursor = bookings.size() > size
+                ? BookingCursor.of(pageBookings.get(pageBookings.size() - 1)).encode()
+                : null;
+
+        return new BookingPageDto(pageBookings.stream()
+                .map(BookingMapper::bookingRowToBookingDto)
+                .collect(Collectors.toList()), nextCursor);
     }
 
     private void checkAvailableItem(final Item item) {
@@ -200,4 +304,75 @@ public class BookingServiceImpl implements BookingService {
             throw new ItemNotAvailableForBookingException("Предмет не доступен для бронирования по ID " + item.getId());
         }
     }
+
+    private int updateStatuses(final List<Long> bookingIds, final BookingStatusType newStatus) {
+        try {
+            return bookingStorage.updateStatusByIdIn(bookingIds, newStatus);
+        } catch (DataIntegrityViolationException e) {
+            throw new BookingConflictException("Вещь уже забронирована на пересекающийся период. Бронирования ID "
+                    + bookingIds);
+        }
+    }
+
+    private void checkNoApprovedOverlap(final Booking booking) {
+        if (bookingStorage.existsApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                booking.getId())) {
+            throw new BookingConflictException("Вещь уже забронирована на пересекающийся период. Бронирование ID "
+                    + booking.getId());
+        }
+    }
+
+    /**
+     * Вещи блокируются до чтения бронирований: статусы и одобренные периоды читаются уже после того,
+     * как параллельные одобрения по этим вещам зафиксированы.
+     */
+    private void lockOwnerItems(final Long ownerId, final Collection<Long> bookingIds) {
+        List<Long> itemIds = bookingStorage.findItemIdsByIdInAndOwner(bookingIds, ownerId);
+        if (!itemIds.isEmpty()) {
+            itemStorage.lockAllByIdIn(itemIds);
+        }
+    }
+
+    /**
+     * Одобренные бронирования вещей пакета, которые могут пересечься с одобряемыми: один запрос
+     * по всем вещам на общий период [минимальное начало, максимальный конец).
+     */
+    private ApprovedIntervals loadApprovedIntervals(final Long ownerId, final Collection<Booking> bookings) {
+        ApprovedIntervals approvedIntervals = new ApprovedIntervals();
+        List<Booking> candidates = bookings.stream()
+                .filter(booking -> booking.getItem().getOwner().equals(ownerId))
+                .filter(booking -> booking.getStatus() != BookingStatusType.APPROVED)
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return approvedIntervals;
+        }
+
+        Set<Long> itemIds = candidates.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        LocalDateTime start = candidates.stream().map(Booking::getStart).min(LocalDateTime::compareTo).get();
+        LocalDateTime end = candidates.stream().map(Booking::getEnd).max(LocalDateTime::compareTo).get();
+        bookingStorage.findApprovedByItemIdInOverlapping(itemIds, start, end)
+                .forEach(booking -> approvedIntervals.add(booking.getItem().getId(), booking.getStart(),
+                        booking.getEnd()));
+        return approvedIntervals;
+    }
+
+    private String checkStatusChange(final Long userId, final Long bookingId, final Booking booking,
+                                     final ApprovedIntervals approvedIntervals) {
+        if (booking == null) {
+            return "Бронирование не найдено по ID " + bookingId;
+        }
+        if (!booking.getItem().getOwner().equals(userId)) {
+            return "У вас недостаточно прав для изменения статуса";
+        }
+        if (booking.getStatus() == BookingStatusType.APPROVED) {
+            return "Вы не можете изменить уже одобренный статус";
+        }
+        if (approvedIntervals != null && !approvedIntervals.tryReserve(booking.getItem().getId(), booking.getStart(),
+                booking.getEnd())) {
+            return "Вещь уже забронирована на пересекающийся период. Бронирование ID " + bookingId;
+        }
+        return null;
+    }
 }
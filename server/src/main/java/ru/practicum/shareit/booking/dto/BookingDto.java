@@ -5,8 +5,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.BookingStatusType;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
 import javax.validation.constraints.NotBlank;
 
@@ -22,9 +20,9 @@ public class BookingDto {
     @NotBlank(message = "Время окончания бронирования не задано")
     private String end;
     @NotBlank(message = "ID пользователя не указан")
-    private User booker;
+    private BookingBookerDto booker;
     @NotBlank(message = "Статус не указан")
     private BookingStatusType status;
     @NotBlank(message = "Предмет не указан")
-    private Item item;
+    private BookingItemDto item;
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package ru.practicum.shareit.booking.dto;
 
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStatusType;
+import ru.practicum.shareit.booking.repository.BookingRow;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
 
 public class BookingMapper {
 
@@ -19,8 +22,35 @@ public class BookingMapper {
                 .start(booking.getStart().toString())
                 .end(booking.getEnd().toString())
                 .status(booking.getStatus())
-                .item(booking.getItem())
-                .booker(booking.getBooker())
+                .item(itemToBookingItemDto(booking.getItem()))
+                .booker(userToBookingBookerDto(booking.getBooker()))
                 .build();
     }
+
+    public static BookingDto bookingRowToBookingDto(final BookingRow row) {
+        return BookingDto.builder()
+                .id(row.getId())
+                .start(row.getStart().toString())
+                .end(row.getEnd().toString())
+                .status(row.getStatus())
+                .item(new BookingItemDto(row.getItemId(), row.getItemName(), row.getItemDescription(),
+                        row.getItemAvailable(), row.getItemOwner()))
+                .booker(new BookingBookerDto(row.getBookerId(), row.getBookerName(), row.getBookerEmail()))
+                .build();
+    }
+
+    private static BookingItemDto itemToBookingItemDto(final Item item) {
+        if (item == null) {
+            return null;
+        }
+        return new BookingItemDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwner());
+    }
+
+    private static BookingBookerDto userToBookingBookerDto(final User user) {
+        if (user == null) {
+            return null;
+        }
+        return new BookingBookerDto(user.getId(), user.getName(), user.getEmail());
+    }
 }
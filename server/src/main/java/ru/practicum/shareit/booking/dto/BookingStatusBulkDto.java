@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusBulkDto {
+    @NotEmpty(message = "Не указаны ID бронирований")
+    @Size(max = 500, message = "За один запрос можно изменить не более 500 бронирований")
+    private List<@NotNull @Positive Long> bookingIds;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.BookingStatusType;
+
+/**
+ * Результат изменения статуса одного бронирования в пакетном запросе: новый статус либо причина отказа.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusResultDto {
+    private Long bookingId;
+    private BookingStatusType status;
+    private String error;
+}
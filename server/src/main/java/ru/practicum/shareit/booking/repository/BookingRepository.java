@@ -2,90 +2,132 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStatusType;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker " +
-            "WHERE b.booker.id = ?1 " +
+    /**
+     * Списки бронирований читаются проекцией: одним запросом с обеими связями и без гидрации сущностей.
+     */
+    String BOOKING_ROWS = "SELECT new ru.practicum.shareit.booking.repository.BookingRow(b.id, b.start, b.end, " +
+            "b.status, i.id, i.name, i.description, i.available, i.owner, u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u ";
+
+    @Query(BOOKING_ROWS +
+            "WHERE u.id = ?1 " +
             "ORDER BY b.start DESC")
-    List<Booking> findAllByBookerId(final Long userId, final Pageable page);
+    List<BookingRow> findAllByBookerId(final Long userId, final Pageable page);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker " +
-            "WHERE b.booker.id = ?1 " +
+    @Query(BOOKING_ROWS +
+            "WHERE u.id = ?1 " +
             "AND b.end > ?2 " +
             "AND b.start < ?2")
-    List<Booking> findAllCurrentBookings(final Long userId, final LocalDateTime currentTime,
-                                         final Pageable page);
+    List<BookingRow> findAllCurrentBookings(final Long userId, final LocalDateTime currentTime,
+                                            final Pageable page);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker " +
-            "WHERE (b.booker.id = ?1 " +
-            "OR b.item.owner = ?1) " +
+    @Query(BOOKING_ROWS +
+            "WHERE (u.id = ?1 " +
+            "OR i.owner = ?1) " +
             "AND b.end < ?2 " +
             "ORDER BY b.start DESC")
-    List<Booking> findAllPastBookings(final Long userId, final LocalDateTime dateTimeNow, final Pageable page);
+    List<BookingRow> findAllPastBookings(final Long userId, final LocalDateTime dateTimeNow, final Pageable page);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker " +
-            "WHERE (b.booker.id = ?1 " +
-            "OR b.item.owner = ?1) " +
+    @Query(BOOKING_ROWS +
+            "WHERE (u.id = ?1 " +
+            "OR i.owner = ?1) " +
             "ORDER BY b.start DESC")
-    List<Booking> findAllFutureBookings(final Long userId, final Pageable page);
+    List<BookingRow> findAllFutureBookings(final Long userId, final Pageable page);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker " +
-            "WHERE b.booker.id = ?1 " +
+    @Query(BOOKING_ROWS +
+            "WHERE u.id = ?1 " +
             "AND b.status = ?2 " +
             "ORDER BY b.start DESC")
-    List<Booking> findAllByBookerAndStatus(final Long userId, final BookingStatusType state,
-                                           final Pageable page);
+    List<BookingRow> findAllByBookerAndStatus(final Long userId, final BookingStatusType state,
+                                              final Pageable page);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN FETCH b.item " +
-            "WHERE b.item.owner = ?1 " +
+    @Query(BOOKING_ROWS +
+            "WHERE i.owner = ?1 " +
             "ORDER BY b.start DESC")
-    List<Booking> findAllOwnerItemBookings(final Long userId, final Pageable page);
+    List<BookingRow> findAllOwnerItemBookings(final Long userId, final Pageable page);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN FETCH b.item " +
-            "WHERE b.item.owner = ?1 " +
+    @Query(BOOKING_ROWS +
+            "WHERE i.owner = ?1 " +
             "AND b.end > ?2 " +
             "AND b.start < ?2")
-    List<Booking> findAllOwnerCurrentBookings(final Long userId, final LocalDateTime currentTime,
-                                              final Pageable page);
+    List<BookingRow> findAllOwnerCurrentBookings(final Long userId, final LocalDateTime currentTime,
+                                                 final Pageable page);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN FETCH b.item " +
-            "WHERE b.item.owner = ?1 " +
+    @Query(BOOKING_ROWS +
+            "WHERE i.owner = ?1 " +
             "AND b.end < ?2 " +
             "ORDER BY b.start DESC")
-    List<Booking> findAllPastOwnerItemBookings(final Long userId, final LocalDateTime dateTime,
-                                               final Pageable page);
+    List<BookingRow> findAllPastOwnerItemBookings(final Long userId, final LocalDateTime dateTime,
+                                                  final Pageable page);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN FETCH b.item " +
-            "WHERE b.item.owner = ?1 " +
+    @Query(BOOKING_ROWS +
+            "WHERE i.owner = ?1 " +
             "AND b.start > ?2 " +
             "ORDER BY b.start DESC")
-    List<Booking> findAllFutureOwnerItemBookings(final Long userId, final LocalDateTime currentTime,
-                                                 final Pageable page);
+    List<BookingRow> findAllFutureOwnerItemBookings(final Long userId, final LocalDateTime currentTime,
+                                                    final Pageable page);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN FETCH b.item " +
-            "WHERE b.item.owner = ?1 " +
+    @Query(BOOKING_ROWS +
+            "WHERE i.owner = ?1 " +
             "AND b.status = ?2 " +
             "ORDER BY b.start DESC")
-    List<Booking> findAllOwnerItemBookedByStatus(final Long userId, final BookingStatusType state,
-                                                 final Pageable page);
+    List<BookingRow> findAllOwnerItemBookedByStatus(final Long userId, final BookingStatusType state,
+                                                    final Pageable page);
 
     Optional<Booking> findFirstByItemId(final Long itemId);
+
+    /**
+     * Есть ли у вещи одобренное бронирование, пересекающееся с [start, end). Поиск идёт по индексу
+     * (item_id, status, end_date): прошедшие бронирования отсекаются условием на end_date и не читаются.
+     */
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END " +
+            "FROM Booking b " +
+            "WHERE b.item.id = ?1 " +
+            "AND b.status = ru.practicum.shareit.booking.BookingStatusType.APPROVED " +
+            "AND b.end > ?2 " +
+            "AND b.start < ?3 " +
+            "AND b.id <> ?4")
+    boolean existsApprovedOverlap(final Long itemId, final LocalDateTime start, final LocalDateTime end,
+                                  final Long excludedBookingId);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item " +
+            "WHERE b.id IN ?1")
+    List<Booking> findAllWithItemByIdIn(final Collection<Long> bookingIds);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking b " +
+            "WHERE b.id IN ?1 " +
+            "AND b.item.owner = ?2")
+    List<Long> findItemIdsByIdInAndOwner(final Collection<Long> bookingIds, final Long ownerId);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN ?1 " +
+            "AND b.status = ru.practicum.shareit.booking.BookingStatusType.APPROVED " +
+            "AND b.end > ?2 " +
+            "AND b.start < ?3")
+    List<Booking> findApprovedByItemIdInOverlapping(final Collection<Long> itemIds, final LocalDateTime start,
+                                                    final LocalDateTime end);
+
+    /**
+     * Меняет статус бронирований одним UPDATE. Уже одобренные бронирования не затрагиваются,
+     * поэтому число обновлённых строк меньше числа ID, если статус параллельно изменил другой запрос.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b " +
+            "SET b.status = ?2, b.version = b.version + 1 " +
+            "WHERE b.id IN ?1 " +
+            "AND b.status <> ru.practicum.shareit.booking.BookingStatusType.APPROVED")
+    int updateStatusByIdIn(final Collection<Long> bookingIds, final BookingStatusType status);
 }
@@ -1,13 +1,43 @@
 package ru.practicum.shareit.booking.repository;
 
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingState;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BookingRepositoryCustom {
 
     List<Booking> findLastBooking(final Long itemId, final LocalDateTime currentTime);
 
     List<Booking> findNextBooking(final Long itemId, final LocalDateTime currentTime);
+
+    /**
+     * Последние одобренные бронирования для набора предметов одним запросом.
+     * Ключ - ID предмета, предметы без бронирований в результат не попадают.
+     */
+    Map<Long, Booking> findLastBookings(final Collection<Long> itemIds, final LocalDateTime currentTime);
+
+    /**
+     * Следующие одобренные бронирования для набора предметов одним запросом.
+     * Ключ - ID предмета, предметы без бронирований в результат не попадают.
+     */
+    Map<Long, Booking> findNextBookings(final Collection<Long> itemIds, final LocalDateTime currentTime);
+
+    /**
+     * Страница бронирований пользователя после позиции cursor (null - с начала списка),
+     * отсортированная по (start DESC, id DESC). Условия выборки совпадают с запросами BookingRepository.
+     */
+    List<BookingRow> findBookerBookingsAfter(final Long userId, final BookingState state,
+                                             final LocalDateTime currentTime, final BookingCursor cursor,
+                                             final int limit);
+
+    /**
+     * То же для бронирований вещей владельца.
+     */
+    List<BookingRow> findOwnerBookingsAfter(final Long userId, final BookingState state,
+                                            final LocalDateTime currentTime, final BookingCursor cursor,
+                                            final int limit);
 }
@@ -1,11 +1,18 @@
 package ru.practicum.shareit.booking.repository;
 
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatusType;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
 
@@ -33,4 +40,134 @@ public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
                         "ORDER BY b.end").setParameter(1, itemId).setParameter(2, currentTime).setMaxResults(1)
                 .getResultList();
     }
+
+    @Override
+    public Map<Long, Booking> findLastBookings(final Collection<Long> itemIds, final LocalDateTime currentTime) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Booking> bookings = entityManager.createQuery("SELECT b FROM Booking b " +
+                        "JOIN FETCH b.item " +
+                        "WHERE b.item.id IN ?1 " +
+                        "AND b.status = 'APPROVED' " +
+                        "AND b.start < ?2 " +
+                        "AND b.end = (SELECT MAX(lb.end) FROM Booking lb " +
+                        "WHERE lb.item.id = b.item.id " +
+                        "AND lb.status = 'APPROVED' " +
+                        "AND lb.start < ?2) " +
+                        "ORDER BY b.id", Booking.class)
+                .setParameter(1, itemIds)
+                .setParameter(2, currentTime)
+                .getResultList();
+        return groupFirstByItemId(bookings);
+    }
+
+    @Override
+    public Map<Long, Booking> findNextBookings(final Collection<Long> itemIds, final LocalDateTime currentTime) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Booking> bookings = entityManager.createQuery("SELECT b FROM Booking b " +
+                        "JOIN FETCH b.item " +
+                        "WHERE b.item.id IN ?1 " +
+                        "AND b.status = 'APPROVED' " +
+                        "AND b.start > ?2 " +
+                        "AND b.end = (SELECT MIN(nb.end) FROM Booking nb " +
+                        "WHERE nb.item.id = b.item.id " +
+                        "AND nb.status = 'APPROVED' " +
+                        "AND nb.start > ?2) " +
+                        "ORDER BY b.id", Booking.class)
+                .setParameter(1, itemIds)
+                .setParameter(2, currentTime)
+                .getResultList();
+        return groupFirstByItemId(bookings);
+    }
+
+    @Override
+    public List<BookingRow> findBookerBookingsAfter(final Long userId, final BookingState state,
+                                                    final LocalDateTime currentTime, final BookingCursor cursor,
+                                                    final int limit) {
+        StringBuilder jpql = new StringBuilder(BookingRepository.BOOKING_ROWS);
+
+        switch (state) {
+            case CURRENT:
+                jpql.append("WHERE u.id = :userId AND b.end > :currentTime AND b.start < :currentTime ");
+                break;
+            case PAST:
+                jpql.append("WHERE (u.id = :userId OR i.owner = :userId) AND b.end < :currentTime ");
+                break;
+            case FUTURE:
+                jpql.append("WHERE (u.id = :userId OR i.owner = :userId) ");
+                break;
+            case WAITING:
+            case REJECTED:
+                jpql.append("WHERE u.id = :userId AND b.status = :status ");
+                break;
+            default:
+                jpql.append("WHERE u.id = :userId ");
+        }
+        return findPageAfter(jpql, userId, state, currentTime, cursor, limit);
+    }
+
+    @Override
+    public List<BookingRow> findOwnerBookingsAfter(final Long userId, final BookingState state,
+                                                   final LocalDateTime currentTime, final BookingCursor cursor,
+                                                   final int limit) {
+        StringBuilder jpql = new StringBuilder(BookingRepository.BOOKING_ROWS).append("WHERE i.owner = :userId ");
+
+        switch (state) {
+            case CURRENT:
+                jpql.append("AND b.end > :currentTime AND b.start < :currentTime ");
+                break;
+            case PAST:
+                jpql.append("AND b.end < :currentTime ");
+                break;
+            case FUTURE:
+                jpql.append("AND b.start > :currentTime ");
+                break;
+            case WAITING:
+            case REJECTED:
+                jpql.append("AND b.status = :status ");
+                break;
+            default:
+                break;
+        }
+        return findPageAfter(jpql, userId, state, currentTime, cursor, limit);
+    }
+
+    private List<BookingRow> findPageAfter(final StringBuilder jpql, final Long userId, final BookingState state,
+                                           final LocalDateTime currentTime, final BookingCursor cursor,
+                                           final int limit) {
+        if (cursor != null) {
+            jpql.append("AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ");
+        }
+        jpql.append("ORDER BY b.start DESC, b.id DESC");
+
+        TypedQuery<BookingRow> query = entityManager.createQuery(jpql.toString(), BookingRow.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+
+        if (jpql.indexOf(":currentTime") >= 0) {
+            query.setParameter("currentTime", currentTime);
+        }
+        if (state == BookingState.WAITING || state == BookingState.REJECTED) {
+            query.setParameter("status", BookingStatusType.valueOf(state.name()));
+        }
+        if (cursor != null) {
+            query.setParameter("cursorStart", cursor.getStart());
+            query.setParameter("cursorId", cursor.getId());
+        }
+        return query.getResultList();
+    }
+
+    private Map<Long, Booking> groupFirstByItemId(final List<Booking> bookings) {
+        Map<Long, Booking> itemBookings = new HashMap<>();
+
+        for (Booking booking : bookings) {
+            itemBookings.putIfAbsent(booking.getItem().getId(), booking);
+        }
+        return itemBookings;
+    }
 }
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.BookingStatusType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка бронирований: только колонки, которые отдаются клиенту. Заполняется конструктором
+ * прямо в JPQL (SELECT new ...), поэтому сущности бронирования, вещи и пользователя не создаются
+ * и не попадают в контекст постоянства.
+ */
+@Value
+public class BookingRow {
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    BookingStatusType status;
+    Long itemId;
+    String itemName;
+    String itemDescription;
+    Boolean itemAvailable;
+    Long itemOwner;
+    Long bookerId;
+    String bookerName;
+    String bookerEmail;
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Повтор операции «прочитать — проверить — записать» при конфликте версий (@Version).
+ * Каждая попытка заново читает сущности из БД, поэтому action не должен хранить состояние между попытками.
+ */
+@Slf4j
+public final class OptimisticLockRetry {
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final long BASE_BACKOFF_MILLIS = 5;
+
+    private OptimisticLockRetry() {
+    }
+
+    public static <T> T execute(final String operation, final Supplier<T> action) {
+        return execute(operation, DEFAULT_MAX_ATTEMPTS, action);
+    }
+
+    public static <T> T execute(final String operation, final int maxAttempts, final Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.info("Конфликт версий при операции '{}', попытка {} из {}", operation, attempt, maxAttempts);
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Случайная пауза с растущей верхней границей, чтобы конкурирующие запросы не повторялись одновременно.
+     */
+    private static void backoff(final int attempt, final OptimisticLockingFailureException cause) {
+        long bound = BASE_BACKOFF_MILLIS << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exceptionhandler;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -81,4 +82,32 @@ public class ErrorHandler {
         log.warn("Запрос на предмет не найден в базе данных. \n {}", exception);
         return new ErrorResponse(exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse cursorHandle(CursorException exception) {
+        log.warn("Некорректный курсор страницы. \n {}", exception);
+        return new ErrorResponse(exception.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse itemImportHandle(ItemImportException exception) {
+        log.warn("Некорректные данные импорта предметов. \n {}", exception);
+        return new ErrorResponse(exception.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse bookingConflictHandle(BookingConflictException exception) {
+        log.warn("Бронирование пересекается с уже одобренным. \n {}", exception);
+        return new ErrorResponse(exception.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse concurrentModificationHandle(OptimisticLockingFailureException exception) {
+        log.warn("Данные изменены параллельным запросом. \n {}", exception);
+        return new ErrorResponse("Данные были изменены другим запросом, повторите попытку");
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exceptions;
+
+public class CursorException extends RuntimeException {
+    public CursorException(String message) {
+        super(message);
+    }
+}
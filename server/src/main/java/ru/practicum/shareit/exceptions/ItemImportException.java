@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exceptions;
+
+public class ItemImportException extends RuntimeException {
+    public ItemImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.http;
+
+import org.slf4j.MDC;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Кладёт в MDC метод контроллера (endpoint) и ID пользователя из X-Sharer-User-Id (userId)
+ * на время обработки запроса, чтобы журнал медленных запросов мог указать их источник.
+ * Метод контроллера также сохраняется в атрибуте запроса: фильтры читают его уже после очистки MDC.
+ */
+public class RequestOriginInterceptor implements HandlerInterceptor {
+    public static final String ENDPOINT_KEY = "endpoint";
+    public static final String USER_ID_KEY = "userId";
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            String endpoint = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+            MDC.put(ENDPOINT_KEY, endpoint);
+            request.setAttribute(ENDPOINT_KEY, endpoint);
+        }
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId != null) {
+            MDC.put(USER_ID_KEY, userId);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        MDC.remove(ENDPOINT_KEY);
+        MDC.remove(USER_ID_KEY);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.http;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * Выставляет ETag (хеш тела ответа) на GET-ответы ресурсов и отвечает 304 Not Modified,
+ * если клиент прислал совпадающий If-None-Match. Тело при этом по сети не передаётся,
+ * но запросы к БД и сериализация выполняются полностью: фильтр экономит только трафик.
+ */
+@Component
+public class ResourceEtagFilter extends ShallowEtagHeaderFilter {
+    private static final List<String> RESOURCES = List.of("/items", "/bookings", "/users", "/requests");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return RESOURCES.stream().noneMatch(resource -> path.equals(resource) || path.startsWith(resource + "/"));
+    }
+}
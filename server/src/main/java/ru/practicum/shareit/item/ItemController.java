@@ -1,29 +1,42 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exceptions.ItemImportException;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.logging.PayloadLog;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @Validated
 @RequestMapping(path = "/items")
 @Slf4j
 public class ItemController {
+    private static final int MAX_IMPORT_ROWS = 10_000;
+
     private final ItemService itemService;
+    private final ObjectMapper mapper;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, ObjectMapper mapper) {
         this.itemService = itemService;
+        this.mapper = mapper;
     }
 
     @GetMapping("/{itemId}")
@@ -54,10 +67,27 @@ public class ItemController {
     @PostMapping
     public ItemDto addNewItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                               @RequestBody @Valid ItemRegisterDto itemRegisterDto) {
-        log.info("Получен POST запрос на добавление новой вещи от пользователя ID {}, вещи {}", userId, itemRegisterDto);
+        log.info("Получен POST запрос на добавление новой вещи от пользователя ID {}", userId);
+        PayloadLog.debug("Новая вещь: \n {}", itemRegisterDto);
         return itemService.addNewItem(userId, itemRegisterDto);
     }
 
+    /**
+     * Импорт предметов владельца: JSON-массив или NDJSON (по объекту на строку). Тело читается потоком,
+     * результат возвращается по каждой строке. Строка с неверным типом значения отклоняется отдельно,
+     * синтаксическая ошибка JSON отклоняет весь импорт.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public List<ItemImportResultDto> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 InputStream body) throws IOException {
+        Map<Integer, String> readErrors = new HashMap<>();
+        List<ItemRegisterDto> rows = readImportRows(body, readErrors);
+        log.info("Получен POST запрос на импорт {} вещей от пользователя ID {}", rows.size(), userId);
+        List<ItemImportResultDto> results = itemService.importItems(userId, rows);
+        readErrors.forEach((row, error) -> results.get(row - 1).setError(error));
+        return results;
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                               @RequestBody ItemDto itemDto,
@@ -79,4 +109,32 @@ public class ItemController {
                                     @RequestBody CommentAddDto comment) {
         return itemService.addNewComment(userId, itemId, comment);
     }
+
+    /**
+     * ObjectReader.readValues перебирает и элементы корневого JSON-массива, и последовательность
+     * JSON-объектов через перевод строки, поэтому оба формата читаются одинаково.
+     * Строка, значение которой не подходит по типу, попадает в rows как null, а причина - в readErrors
+     * по номеру строки. Итератор после такой ошибки пропускает остаток строки и читает следующую.
+     */
+    private List<ItemRegisterDto> readImportRows(final InputStream body, final Map<Integer, String> readErrors)
+            throws IOException {
+        List<ItemRegisterDto> rows = new ArrayList<>();
+        try (MappingIterator<ItemRegisterDto> iterator = mapper.readerFor(ItemRegisterDto.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (rows.size() == MAX_IMPORT_ROWS) {
+                    throw new ItemImportException("Импорт не может содержать больше " + MAX_IMPORT_ROWS + " строк");
+                }
+                try {
+                    rows.add(iterator.nextValue());
+                } catch (MismatchedInputException exception) {
+                    rows.add(null);
+                    readErrors.put(rows.size(), "Не удалось прочитать строку: " + exception.getOriginalMessage());
+                }
+            }
+        } catch (JsonProcessingException exception) {
+            throw new ItemImportException("Не удалось разобрать строку импорта " + (rows.size() + 1) + ": " +
+                    exception.getOriginalMessage());
+        }
+        return rows;
+    }
 }
@@ -16,6 +16,8 @@ public interface ItemService {
 
     ItemDto addNewItem(final Long userId, final ItemRegisterDto item);
 
+    List<ItemImportResultDto> importItems(final Long userId, final List<ItemRegisterDto> rows);
+
     ItemDto updateItem(final Long userId, final Long itemId, final ItemDto itemDto);
 
     void deleteItem(final Long userId, final Long itemId);
@@ -9,35 +9,48 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.concurrent.OptimisticLockRetry;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.logging.PayloadLog;
+import ru.practicum.shareit.user.UserIdRegistry;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class ItemServiceImpl implements ItemService {
+    private static final int IMPORT_NAMES_CHUNK = 1000;
+
     private final ItemRepository itemStorage;
-    private final UserRepository userStorage;
+    private final UserIdRegistry userIds;
     private final BookingRepository bookingStorage;
     private final CommentRepository commentStorage;
+    private final ItemSearchEngine itemSearchEngine;
 
     @Autowired
-    public ItemServiceImpl(ItemRepository itemStorage, UserRepository userStorage,
-                           BookingRepository bookingStorage, CommentRepository commentStorage) {
+    public ItemServiceImpl(ItemRepository itemStorage, UserIdRegistry userIds,
+                           BookingRepository bookingStorage, CommentRepository commentStorage,
+                           ItemSearchEngine itemSearchEngine) {
         this.itemStorage = itemStorage;
-        this.userStorage = userStorage;
+        this.userIds = userIds;
         this.bookingStorage = bookingStorage;
         this.commentStorage = commentStorage;
+        this.itemSearchEngine = itemSearchEngine;
     }
 
     @Override
@@ -45,12 +58,28 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemWithBookingDto> getOwnerItemsWithBookings(final Long userId, final PageRequest page) {
         List<Item> items = itemStorage.findByOwner(userId, page);
 
-        log.info("Сервис обработал получение предметов из базы. Результат: \n {}", items);
+        log.info("Сервис обработал получение предметов владельца ID {} из базы, предметы: {}", userId,
+                LogSummary.of(items, Item::getId));
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime currentTime = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = bookingStorage.findLastBookings(itemIds, currentTime);
+        Map<Long, Booking> nextBookings = bookingStorage.findNextBookings(itemIds, currentTime);
+        Map<Long, List<CommentDto>> itemComments = commentStorage.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(ItemMapper::commentToCommentDto, Collectors.toList())));
+
         List<ItemWithBookingDto> itemDtos = new ArrayList<>();
 
         for (Item item : items) {
-            ItemWithBookingDto itemDto = getItemWitBookingDto(item);
-            itemDto.setComments(getCommentsDtoByItemId(item.getId()));
+            ItemWithBookingDto itemDto = makeItemWithBookingDto(item, lastBookings.get(item.getId()),
+                    nextBookings.get(item.getId()));
+            itemDto.setComments(itemComments.getOrDefault(item.getId(), Collections.emptyList()));
             itemDtos.add(itemDto);
         }
         return itemDtos;
@@ -62,8 +91,8 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemStorage.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Предмет не найден по ID " + itemId));
 
-        log.info("Сервис обрабатывает запрос на получение предмета по ID {}, пользователем ID {}, Предмет: \n {}", itemId,
-                userId, item);
+        log.info("Сервис обрабатывает запрос на получение предмета по ID {}, пользователем ID {}", itemId, userId);
+        PayloadLog.debug("Предмет ID {}: \n {}", itemId, item);
 
         if (item.getOwner().equals(userId)) {
             ItemWithBookingDto itemDto = getItemWitBookingDto(item);
@@ -83,8 +112,9 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
 
-        List<Item> items = itemStorage.findAvailableItemsByText(regEx, page);
-        log.info("Сервис обработал запрос на нахождение предметов по ключевому слову \'{}\', \n {}", regEx, items);
+        List<Item> items = itemSearchEngine.findAvailableItems(regEx, page);
+        log.info("Сервис обработал запрос на нахождение предметов по ключевому слову \'{}\', предметы: {}", regEx,
+                LogSummary.of(items, Item::getId));
         return items.stream()
                 .map(ItemMapper::itemToItemDto)
                 .collect(Collectors.toList());
@@ -92,7 +122,7 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDto addNewItem(final Long userId, final ItemRegisterDto itemRegisterDto) {
-        if (!userStorage.existsById(userId)) {
+        if (!userIds.exists(userId)) {
             throw new UserNotFoundException("Пользователя по ID " + userId + " не существует");
         }
 
@@ -104,13 +134,62 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item item = itemStorage.saveItem(registredItem, itemRegisterDto.getRequestId());
-        log.info("Сервис обработал запрос на сохранение нового предмета пользователя ID {}, с полученными данными: {}" +
-                " Результат: \n {}", userId, itemRegisterDto, item);
+        itemSearchEngine.itemSaved(item);
+        log.info("Сервис обработал запрос на сохранение нового предмета пользователя ID {}, предмет ID {}", userId,
+                item.getId());
+        PayloadLog.debug("Сохранён предмет по данным {}, Результат: \n {}", itemRegisterDto, item);
         return ItemMapper.itemToItemDto(item);
     }
 
+    /**
+     * Владелец проверяется один раз на весь импорт, дубликаты ищутся в памяти по уже сохранённым предметам
+     * владельца с теми же названиями. Отклонённые строки попадают в результат и не отменяют остальные.
+     */
+    @Override
+    @Transactional
+    public List<ItemImportResultDto> importItems(final Long userId, final List<ItemRegisterDto> rows) {
+        if (!userIds.exists(userId)) {
+            throw new UserNotFoundException("Пользователя по ID " + userId + " не существует");
+        }
+
+        Set<Long> existingRequestIds = findExistingRequestIds(rows);
+        Set<List<Object>> knownItems = findOwnerItemKeys(userId, rows);
+        List<ItemImportResultDto> results = new ArrayList<>(rows.size());
+        List<ItemImportResultDto> savedResults = new ArrayList<>(rows.size());
+        List<Item> items = new ArrayList<>(rows.size());
+        List<Long> requestIds = new ArrayList<>(rows.size());
+
+        for (int row = 0; row < rows.size(); row++) {
+            ItemRegisterDto itemRegisterDto = rows.get(row);
+            String error = checkImportRow(itemRegisterDto, existingRequestIds, knownItems);
+            ItemImportResultDto result = new ItemImportResultDto(row + 1, null, error);
+            results.add(result);
+            if (error == null) {
+                Item item = ItemMapper.itemRegisterDtoToItem(itemRegisterDto);
+                item.setOwner(userId);
+                items.add(item);
+                requestIds.add(itemRegisterDto.getRequestId());
+                savedResults.add(result);
+            }
+        }
+
+        itemStorage.saveItems(items, requestIds);
+        for (int i = 0; i < items.size(); i++) {
+            savedResults.get(i).setItemId(items.get(i).getId());
+            itemSearchEngine.itemSaved(items.get(i));
+        }
+        log.info("Сервис обработал импорт предметов пользователя ID {}: сохранено {}, отклонено {}", userId,
+                items.size(), rows.size() - items.size());
+        return results;
+    }
+
     @Override
     public ItemDto updateItem(final Long userId, final Long itemId, final ItemDto itemDto) {
+        return OptimisticLockRetry.execute("обновление предмета ID " + itemId,
+                () -> applyItemUpdate(userId, itemId, itemDto));
+    }
+
+    private ItemDto applyItemUpdate(final Long userId, final Long itemId, final ItemDto itemDto) {
         Item item = itemStorage.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Предмет не найден по ID " + itemId));
 
@@ -120,14 +199,18 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemStorage.save(updateFields(itemDto, item));
-        log.info("Сервис обработал запрос на обновление предмета пользователя ID {}, с полученными данными: {}" +
-                " Результат: \n {}", userId, itemDto, updatedItem);
+        itemSearchEngine.itemSaved(updatedItem);
+        log.info("Сервис обработал запрос на обновление предмета ID {} пользователя ID {}", itemId, userId);
+        PayloadLog.debug("Обновлён предмет по данным {}, Результат: \n {}", itemDto, updatedItem);
         return ItemMapper.itemToItemDto(updatedItem);
     }
 
     @Override
+    @Transactional
     public void deleteItem(final Long userId, final Long itemId) {
-        itemStorage.removeByIdAndOwner(userId, itemId);
+        if (itemStorage.removeByIdAndOwner(itemId, userId) > 0) {
+            itemSearchEngine.itemRemoved(itemId);
+        }
         log.info("Сервис обработал запрос на удаление предмета ID {}, пользователя ID {}", itemId, userId);
     }
 
@@ -150,6 +233,77 @@ public class ItemServiceImpl implements ItemService {
         return ItemMapper.commentToCommentDto(commentStorage.save(comment));
     }
 
+    private Set<Long> findExistingRequestIds(final List<ItemRegisterDto> rows) {
+        Set<Long> requestIds = rows.stream()
+                .filter(Objects::nonNull)
+                .map(ItemRegisterDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (requestIds.isEmpty()) {
+            return requestIds;
+        }
+        return new HashSet<>(itemStorage.findExistingRequestIds(requestIds));
+    }
+
+    /**
+     * Ключи уже сохранённых предметов владельца с названиями из импорта. Названия передаются в IN частями,
+     * чтобы не упереться в ограничение БД на число параметров запроса.
+     */
+    private Set<List<Object>> findOwnerItemKeys(final Long userId, final List<ItemRegisterDto> rows) {
+        List<String> names = rows.stream()
+                .filter(Objects::nonNull)
+                .map(ItemRegisterDto::getName)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Set<List<Object>> itemKeys = new HashSet<>();
+        for (int from = 0; from < names.size(); from += IMPORT_NAMES_CHUNK) {
+            itemStorage.findAllByOwnerAndNameIn(userId, names.subList(from,
+                            Math.min(from + IMPORT_NAMES_CHUNK, names.size()))).stream()
+                    .map(item -> itemKey(item.getName(), item.getDescription(), item.getAvailable()))
+                    .forEach(itemKeys::add);
+        }
+        return itemKeys;
+    }
+
+    /**
+     * Повторяет проверки gateway для одиночного добавления и дополнительно отклоняет дубликаты,
+     * в том числе повторы внутри самого импорта.
+     */
+    private String checkImportRow(final ItemRegisterDto itemRegisterDto, final Set<Long> existingRequestIds,
+                                  final Set<List<Object>> knownItems) {
+        if (itemRegisterDto == null) {
+            return "Пустая строка импорта";
+        }
+        if (itemRegisterDto.getName() == null || itemRegisterDto.getName().isBlank()) {
+            return "Не указано название";
+        }
+        if (itemRegisterDto.getName().length() > 100) {
+            return "Название предмета не может превышать 100 символов";
+        }
+        if (itemRegisterDto.getDescription() == null || itemRegisterDto.getDescription().isBlank()) {
+            return "Описание не указано";
+        }
+        if (itemRegisterDto.getDescription().length() > 500) {
+            return "Описание предмета не может превышать 500 символов";
+        }
+        if (itemRegisterDto.getAvailable() == null) {
+            return "Возможность забронировать не может быть null";
+        }
+        if (itemRegisterDto.getRequestId() != null && !existingRequestIds.contains(itemRegisterDto.getRequestId())) {
+            return "Запрос не найден по ID " + itemRegisterDto.getRequestId();
+        }
+        if (!knownItems.add(itemKey(itemRegisterDto.getName(), itemRegisterDto.getDescription(),
+                itemRegisterDto.getAvailable()))) {
+            return "Вещь уже существует";
+        }
+        return null;
+    }
+
+    private static List<Object> itemKey(final String name, final String description, final Boolean available) {
+        return List.of(name, description, available);
+    }
+
     private List<CommentDto> getCommentsDtoByItemId(final Long itemId) {
         return commentStorage.findByItemId(itemId).stream()
                 .map(ItemMapper::commentToCommentDto)
@@ -161,22 +315,25 @@ public class ItemServiceImpl implements ItemService {
         List<Booking> lastBookingList = bookingStorage.findLastBooking(item.getId(), currentTime);
         List<Booking> nextBookingList = bookingStorage.findNextBooking(item.getId(), currentTime);
 
-        if (!lastBookingList.isEmpty() && !nextBookingList.isEmpty()) {
-            Booking lastBooking = lastBookingList.get(0);
-            Booking nextBooking = nextBookingList.get(0);
+        Booking lastBooking = lastBookingList.isEmpty() ? null : lastBookingList.get(0);
+        Booking nextBooking = nextBookingList.isEmpty() ? null : nextBookingList.get(0);
+        return makeItemWithBookingDto(item, lastBooking, nextBooking);
+    }
+
+    private ItemWithBookingDto makeItemWithBookingDto(final Item item, final Booking lastBooking,
+                                                      final Booking nextBooking) {
+        if (lastBooking != null && nextBooking != null) {
             ItemWithBookingDto itemDto = ItemMapper.itemToItemWithBookingDto(item, lastBooking,
                     nextBooking);
-            log.info("Получен предмет владельца с прошлой и следующим бронированием. \n {}", itemDto);
+            PayloadLog.debug("Получен предмет владельца с прошлым и следующим бронированием. \n {}", itemDto);
             return itemDto;
-        } else if (!lastBookingList.isEmpty()) {
-            Booking lastBooking = lastBookingList.get(0);
+        } else if (lastBooking != null) {
             ItemWithBookingDto itemDto = ItemMapper.itemToItemWithLastBookingDto(item, lastBooking);
-            log.info("Получен предмет владельца с прошлым бронированием. \n {}", itemDto);
+            PayloadLog.debug("Получен предмет владельца с прошлым бронированием. \n {}", itemDto);
             return itemDto;
-        } else if (!nextBookingList.isEmpty()) {
-            Booking nextBooking = nextBookingList.get(0);
+        } else if (nextBooking != null) {
             ItemWithBookingDto itemDto = ItemMapper.itemToItemWithNextBookingDto(item, nextBooking);
-            log.info("Получен предмет владельца с прошлым бронированием. \n {}", itemDto);
+            PayloadLog.debug("Получен предмет владельца со следующим бронированием. \n {}", itemDto);
             return itemDto;
         }
         return ItemMapper.itemToItemWithBookingDto(item);
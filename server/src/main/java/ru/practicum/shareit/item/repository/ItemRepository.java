@@ -3,10 +3,15 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
@@ -19,7 +24,40 @@ public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositor
             "AND i.available = true")
     List<Item> findAvailableItemsByText(final String regEx, final Pageable page);
 
-    void removeByIdAndOwner(final Long itemId, final Long userId);
+    @Query(value = "SELECT i.* " +
+            "FROM items i " +
+            "WHERE i.available = true " +
+            "AND i.search_vector @@ to_tsquery('simple', ?1) " +
+            "ORDER BY ts_rank(i.search_vector, to_tsquery('simple', ?1)) DESC, i.id",
+            nativeQuery = true)
+    List<Item> findAvailableItemsByTsQuery(final String tsQuery, final Pageable page);
 
-    List<Item> findAllByRequestIdIn(final List<Long> requestId);
+    List<Item> findAllByOwnerAndNameIn(final Long userId, final Collection<String> names);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN ?1")
+    List<Long> findExistingRequestIds(final Collection<Long> requestIds);
+
+    /**
+     * Блокирует строку вещи до конца транзакции: одобрения бронирований одной вещи выполняются по очереди,
+     * и проверка пересечения видит уже зафиксированные одобрения.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> lockById(final Long itemId);
+
+    /**
+     * Блокирует строки вещей в порядке ID, чтобы параллельные пакеты не взаимоблокировались.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN ?1 ORDER BY i.id")
+    List<Item> lockAllByIdIn(final Collection<Long> itemIds);
+
+    long removeByIdAndOwner(final Long itemId, final Long userId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemForRequestDto(" +
+            "i.id, i.name, i.description, i.available, i.request.id) " +
+            "FROM Item i " +
+            "WHERE i.request.id IN ?1 " +
+            "ORDER BY i.id")
+    List<ItemForRequestDto> findRequestAnswersByRequestIdIn(final Collection<Long> requestIds);
 }
@@ -2,7 +2,14 @@ package ru.practicum.shareit.item.repository;
 
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.List;
+
 public interface ItemRepositoryCustom {
 
     Item saveItem(Item item, Long requestId);
+
+    /**
+     * Сохраняет предметы JDBC-пакетами. requestIds — ID запросов в том же порядке, что и предметы (null — без запроса).
+     */
+    List<Item> saveItems(List<Item> items, List<Long> requestIds);
 }
@@ -6,9 +6,14 @@ import ru.practicum.shareit.request.model.ItemRequest;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.List;
 
 @Transactional
 public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    /**
+     * Совпадает с hibernate.jdbc.batch_size: каждый flush отправляет в БД один пакет INSERT.
+     */
+    private static final int BATCH_SIZE = 50;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -23,4 +28,27 @@ public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
 
         return item;
     }
+
+    /**
+     * После каждого пакета контекст очищается, чтобы импорт тысяч строк не накапливал управляемые сущности.
+     */
+    @Override
+    public List<Item> saveItems(List<Item> items, List<Long> requestIds) {
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            Long requestId = requestIds.get(i);
+            if (requestId != null) {
+                item.setRequest(entityManager.getReference(ItemRequest.class, requestId));
+            }
+            entityManager.persist(item);
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return items;
+    }
 }
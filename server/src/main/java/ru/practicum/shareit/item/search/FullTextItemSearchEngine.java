@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск средствами Postgres: колонка items.search_vector (tsvector) с GIN индексом, см. миграцию db/migration/postgresql/V2__item_search_vector.sql.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemStorage;
+
+    @Autowired
+    public FullTextItemSearchEngine(ItemRepository itemStorage) {
+        this.itemStorage = itemStorage;
+    }
+
+    @Override
+    public List<Item> findAvailableItems(final String text, final Pageable page) {
+        List<String> tokens = ItemSearchTokenizer.tokenize(text);
+
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String tsQuery = tokens.stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        log.debug("Полнотекстовый поиск предметов по запросу '{}'", tsQuery);
+        return itemStorage.findAvailableItemsByTsQuery(tsQuery, page);
+    }
+}
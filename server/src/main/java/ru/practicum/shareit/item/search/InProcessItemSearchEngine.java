@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск для баз без полнотекстового индекса (H2 в тестовом профиле). Кандидаты выбираются из БД
+ * по самому длинному слову запроса, остальные слова, ранжирование и постраничный вывод - в приложении.
+ * Кандидатов читается не больше {@link #MAX_CANDIDATES} в порядке ID, поэтому для очень частых слов
+ * ранжируется только эта часть совпадений.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InProcessItemSearchEngine implements ItemSearchEngine {
+    public static final int MAX_CANDIDATES = 1000;
+
+    private final ItemRepository itemStorage;
+
+    @Autowired
+    public InProcessItemSearchEngine(ItemRepository itemStorage) {
+        this.itemStorage = itemStorage;
+    }
+
+    @Override
+    public List<Item> findAvailableItems(final String text, final Pageable page) {
+        List<String> tokens = ItemSearchTokenizer.tokenize(text);
+
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Самое длинное слово отбирает меньше кандидатов; при равной длине берётся последнее по алфавиту,
+        // чтобы запрос к БД не зависел от порядка слов.
+        String mostSelectiveToken = Collections.max(tokens, Comparator.comparingInt(String::length)
+                .thenComparing(Comparator.naturalOrder()));
+        List<Item> candidates = itemStorage.findAvailableItemsByText(mostSelectiveToken,
+                PageRequest.of(0, MAX_CANDIDATES, Sort.by("id")));
+        Map<Long, Integer> scores = candidates.stream()
+                .collect(Collectors.toMap(Item::getId,
+                        item -> ItemSearchTokenizer.score(tokens, item.getName(), item.getDescription())));
+
+        return candidates.stream()
+                .filter(item -> scores.get(item.getId()) > 0)
+                .sorted(Comparator.comparing((Item item) -> scores.get(item.getId())).reversed()
+                        .thenComparing(Item::getId))
+                .skip(page.isPaged() ? page.getOffset() : 0)
+                .limit(page.isPaged() ? page.getPageSize() : Long.MAX_VALUE)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск по инвертированному индексу в памяти приложения. Индекс строится при старте из БД и обновляется
+ * сервисом предметов при добавлении, изменении и удалении. К БД обращается только за страницей результата.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class IndexedItemSearchEngine implements ItemSearchEngine {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemStorage;
+    private volatile ItemSearchIndex index = new ItemSearchIndex();
+
+    @Autowired
+    public IndexedItemSearchEngine(ItemRepository itemStorage) {
+        this.itemStorage = itemStorage;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Перестраивает индекс с нуля. Пока идёт перестройка, поиск обслуживает прежний индекс.
+     * Изменения предметов, сделанные во время перестройки, могут не попасть в новый индекс.
+     */
+    public synchronized ItemSearchIndexStats rebuild() {
+        ItemSearchIndex rebuiltIndex = new ItemSearchIndex();
+        Pageable page = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+        Page<Item> items;
+
+        do {
+            items = itemStorage.findAll(page);
+            items.forEach(rebuiltIndex::put);
+            page = items.nextPageable();
+        } while (items.hasNext());
+
+        index = rebuiltIndex;
+        ItemSearchIndexStats stats = rebuiltIndex.stats();
+        log.info("Индекс поиска предметов перестроен: {}", stats);
+        return stats;
+    }
+
+    public ItemSearchIndexStats stats() {
+        return index.stats();
+    }
+
+    @Override
+    public List<Item> findAvailableItems(final String text, final Pageable page) {
+        List<String> tokens = ItemSearchTokenizer.tokenize(text);
+        List<Long> itemIds = page.isPaged()
+                ? index.search(tokens, page.getOffset(), page.getPageSize())
+                : index.search(tokens, 0, Integer.MAX_VALUE);
+
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Item> items = itemStorage.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void itemSaved(final Item item) {
+        afterCommit(() -> index.put(item));
+    }
+
+    @Override
+    public void itemRemoved(final Long itemId) {
+        afterCommit(() -> index.remove(itemId));
+    }
+
+    /**
+     * Индекс меняется только после фиксации транзакции: при откате он должен совпадать с БД.
+     */
+    private static void afterCommit(final Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск доступных для бронирования предметов по названию и описанию.
+ * Результат упорядочен по релевантности: совпадения в названии важнее совпадений в описании.
+ */
+public interface ItemSearchEngine {
+
+    List<Item> findAvailableItems(final String text, final Pageable page);
+
+    /**
+     * Вызывается после сохранения нового или изменённого предмета, в том числе внутри транзакции.
+     * Реализации с собственным состоянием применяют изменение только после её фиксации.
+     */
+    default void itemSaved(final Item item) {
+    }
+
+    /**
+     * Вызывается после удаления предмета, фиксация транзакции - как для {@link #itemSaved(Item)}.
+     */
+    default void itemRemoved(final Long itemId) {
+    }
+}
@@ -0,0 +1,258 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс предметов: слово -> отсортированный массив ID предметов, в названии или описании
+ * которых оно встречается. Недоступные для бронирования предметы остаются в индексе и отсекаются при поиске,
+ * чтобы смена флага available не перестраивала списки.
+ */
+public class ItemSearchIndex {
+    private static final long[] EMPTY = new long[0];
+    private static final long MAP_ENTRY_BYTES = 40;
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long BOXED_LONG_BYTES = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, long[]> postings = new TreeMap<>();
+    private final Map<Long, IndexedItem> documents = new HashMap<>();
+
+    public void put(final Item item) {
+        IndexedItem document = new IndexedItem(ItemSearchTokenizer.tokenize(item.getName()),
+                ItemSearchTokenizer.tokenize(item.getDescription()), Boolean.TRUE.equals(item.getAvailable()));
+        long itemId = item.getId();
+
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = documents.put(itemId, document);
+
+            if (previous != null) {
+                previous.allTokens().forEach(token -> removePosting(token, itemId));
+            }
+            document.allTokens().forEach(token -> addPosting(token, itemId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final Long itemId) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = documents.remove(itemId);
+
+            if (previous != null) {
+                previous.allTokens().forEach(token -> removePosting(token, itemId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ID доступных предметов, у которых каждое слово запроса является началом какого-либо слова,
+     * в порядке убывания релевантности.
+     */
+    public List<Long> search(final List<String> queryTokens, final long offset, final int limit) {
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] matches = null;
+
+            for (String queryToken : queryTokens) {
+                long[] tokenMatches = prefixPostings(queryToken);
+                matches = matches == null ? tokenMatches : intersect(matches, tokenMatches);
+
+                if (matches.length == 0) {
+                    return Collections.emptyList();
+                }
+            }
+
+            List<ScoredItem> scoredItems = new ArrayList<>();
+            for (long itemId : matches) {
+                IndexedItem document = documents.get(itemId);
+
+                if (document.available) {
+                    scoredItems.add(new ScoredItem(itemId, ItemSearchTokenizer.score(queryTokens,
+                            document.nameTokens, document.descriptionTokens)));
+                }
+            }
+
+            scoredItems.sort(Comparator.comparingInt((ScoredItem scoredItem) -> scoredItem.score).reversed()
+                    .thenComparingLong(scoredItem -> scoredItem.itemId));
+
+            List<Long> page = new ArrayList<>(Math.min(limit, scoredItems.size()));
+            for (long i = offset; i < scoredItems.size() && page.size() < limit; i++) {
+                page.add(scoredItems.get((int) i).itemId);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ItemSearchIndexStats stats() {
+        lock.readLock().lock();
+        try {
+            long postingEntries = 0;
+            long estimatedBytes = 0;
+
+            for (Map.Entry<String, long[]> entry : postings.entrySet()) {
+                postingEntries += entry.getValue().length;
+                estimatedBytes += MAP_ENTRY_BYTES + stringBytes(entry.getKey()) + ARRAY_HEADER_BYTES
+                        + (long) Long.BYTES * entry.getValue().length;
+            }
+            for (IndexedItem document : documents.values()) {
+                estimatedBytes += MAP_ENTRY_BYTES + BOXED_LONG_BYTES + document.estimatedBytes();
+            }
+            return new ItemSearchIndexStats(documents.size(), postings.size(), postingEntries, estimatedBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] prefixPostings(final String prefix) {
+        Collection<long[]> lists = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+
+        if (lists.isEmpty()) {
+            return EMPTY;
+        }
+        if (lists.size() == 1) {
+            return lists.iterator().next();
+        }
+
+        int total = 0;
+        for (long[] list : lists) {
+            total += list.length;
+        }
+
+        long[] union = new long[total];
+        int position = 0;
+        for (long[] list : lists) {
+            System.arraycopy(list, 0, union, position, list.length);
+            position += list.length;
+        }
+        Arrays.sort(union);
+
+        int size = 0;
+        for (int i = 0; i < union.length; i++) {
+            if (i == 0 || union[i] != union[i - 1]) {
+                union[size++] = union[i];
+            }
+        }
+        return Arrays.copyOf(union, size);
+    }
+
+    private static long[] intersect(final long[] first, final long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private void addPosting(final String token, final long itemId) {
+        long[] list = postings.getOrDefault(token, EMPTY);
+        int position = Arrays.binarySearch(list, itemId);
+
+        if (position >= 0) {
+            return;
+        }
+
+        int insertAt = -position - 1;
+        long[] updated = new long[list.length + 1];
+        System.arraycopy(list, 0, updated, 0, insertAt);
+        updated[insertAt] = itemId;
+        System.arraycopy(list, insertAt, updated, insertAt + 1, list.length - insertAt);
+        postings.put(token, updated);
+    }
+
+    private void removePosting(final String token, final long itemId) {
+        long[] list = postings.get(token);
+
+        if (list == null) {
+            return;
+        }
+
+        int position = Arrays.binarySearch(list, itemId);
+        if (position < 0) {
+            return;
+        }
+        if (list.length == 1) {
+            postings.remove(token);
+            return;
+        }
+
+        long[] updated = new long[list.length - 1];
+        System.arraycopy(list, 0, updated, 0, position);
+        System.arraycopy(list, position + 1, updated, position, list.length - position - 1);
+        postings.put(token, updated);
+    }
+
+    private static long stringBytes(final String value) {
+        return 40 + 2L * value.length();
+    }
+
+    private static final class IndexedItem {
+        private final List<String> nameTokens;
+        private final List<String> descriptionTokens;
+        private final boolean available;
+
+        private IndexedItem(List<String> nameTokens, List<String> descriptionTokens, boolean available) {
+            this.nameTokens = nameTokens;
+            this.descriptionTokens = descriptionTokens;
+            this.available = available;
+        }
+
+        private List<String> allTokens() {
+            List<String> tokens = new ArrayList<>(nameTokens);
+            tokens.addAll(descriptionTokens);
+            return tokens;
+        }
+
+        private long estimatedBytes() {
+            long bytes = 2 * (ARRAY_HEADER_BYTES + 24);
+            for (String token : allTokens()) {
+                bytes += 8 + stringBytes(token);
+            }
+            return bytes;
+        }
+    }
+
+    private static final class ScoredItem {
+        private final long itemId;
+        private final int score;
+
+        private ScoredItem(long itemId, int score) {
+            this.itemId = itemId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/itemsearchindex - размер индекса и оценка занимаемой памяти,
+ * POST /actuator/itemsearchindex - перестроить индекс из БД.
+ */
+@Component
+@Endpoint(id = "itemsearchindex")
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class ItemSearchIndexEndpoint {
+    private final IndexedItemSearchEngine searchEngine;
+
+    @Autowired
+    public ItemSearchIndexEndpoint(IndexedItemSearchEngine searchEngine) {
+        this.searchEngine = searchEngine;
+    }
+
+    @ReadOperation
+    public ItemSearchIndexStats stats() {
+        return searchEngine.stats();
+    }
+
+    @WriteOperation
+    public ItemSearchIndexStats rebuild() {
+        return searchEngine.rebuild();
+    }
+}
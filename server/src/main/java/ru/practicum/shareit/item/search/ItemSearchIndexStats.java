@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ItemSearchIndexStats {
+    private long items;
+    private long tokens;
+    private long postingEntries;
+    private long estimatedBytes;
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Разбивает текст на слова так же, как конфигурация 'simple' полнотекстового поиска Postgres:
+ * по любым символам, кроме букв и цифр, с приведением к нижнему регистру.
+ */
+public final class ItemSearchTokenizer {
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private ItemSearchTokenizer() {
+    }
+
+    public static List<String> tokenize(final String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        return Arrays.stream(DELIMITER.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Релевантность предмета запросу: каждое слово запроса должно быть началом какого-либо слова
+     * в названии или описании, иначе возвращается 0. Совпадение в названии весит больше.
+     */
+    public static int score(final List<String> queryTokens, final String name, final String description) {
+        return score(queryTokens, tokenize(name), tokenize(description));
+    }
+
+    public static int score(final List<String> queryTokens, final List<String> nameTokens,
+                            final List<String> descriptionTokens) {
+        int score = 0;
+
+        for (String queryToken : queryTokens) {
+            int tokenScore = 0;
+
+            if (containsPrefix(nameTokens, queryToken)) {
+                tokenScore += 2;
+            }
+            if (containsPrefix(descriptionTokens, queryToken)) {
+                tokenScore += 1;
+            }
+            if (tokenScore == 0) {
+                return 0;
+            }
+            score += tokenScore;
+        }
+        return score;
+    }
+
+    private static boolean containsPrefix(final List<String> tokens, final String prefix) {
+        for (String token : tokens) {
+            if (token.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
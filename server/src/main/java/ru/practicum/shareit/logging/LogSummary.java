@@ -0,0 +1,40 @@
+package ru.practicum.shareit.logging;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Краткое описание коллекции для журнала: количество и первые ID. Строка собирается только при выводе
+ * сообщения, а её длина не зависит от размера коллекции.
+ */
+public final class LogSummary {
+    private static final int MAX_IDS = 10;
+
+    private final Collection<?> elements;
+    private final Function<Object, ?> idExtractor;
+
+    private LogSummary(Collection<?> elements, Function<Object, ?> idExtractor) {
+        this.elements = elements;
+        this.idExtractor = idExtractor;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> LogSummary of(final Collection<T> elements, final Function<? super T, ?> idExtractor) {
+        return new LogSummary(elements, (Function<Object, ?>) idExtractor);
+    }
+
+    @Override
+    public String toString() {
+        if (elements == null) {
+            return "null";
+        }
+        String ids = elements.stream()
+                .limit(MAX_IDS)
+                .map(idExtractor)
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+        String tail = elements.size() > MAX_IDS ? ", ..." : "";
+        return elements.size() + " шт., ID [" + ids + tail + "]";
+    }
+}
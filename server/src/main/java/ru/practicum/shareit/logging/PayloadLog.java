@@ -0,0 +1,58 @@
+package ru.practicum.shareit.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import ru.practicum.shareit.http.RequestOriginInterceptor;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Журнал полных данных (сущностей и DTO). Пишет в логгер ru.practicum.shareit.payload на уровне DEBUG
+ * и только для выборки запросов, пользователь берётся из MDC. Уровень логгера меняется через
+ * /actuator/loggers, выборка - через /actuator/payloadlog.
+ */
+@Slf4j(topic = "ru.practicum.shareit.payload")
+public final class PayloadLog {
+    private static volatile PayloadSampling sampling = new PayloadSampling(0, Set.of());
+
+    private PayloadLog() {
+    }
+
+    public static void debug(final String format, final Object... arguments) {
+        if (log.isDebugEnabled() && isSampled()) {
+            log.debug(format, arguments);
+        }
+    }
+
+    public static PayloadSampling sampling() {
+        return sampling;
+    }
+
+    public static void configure(final double percent, final Set<Long> userIds) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Доля запросов должна быть от 0 до 100, получено " + percent);
+        }
+        sampling = new PayloadSampling(percent, userIds == null ? Set.of() : Set.copyOf(userIds));
+    }
+
+    public static boolean isSampled() {
+        PayloadSampling current = sampling;
+        Long userId = parseId(MDC.get(RequestOriginInterceptor.USER_ID_KEY));
+        if (userId != null && current.getUserIds().contains(userId)) {
+            return true;
+        }
+        return current.getPercent() > 0 && ThreadLocalRandom.current().nextDouble(100) < current.getPercent();
+    }
+
+    private static Long parseId(final String userId) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.logging;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PayloadLogProperties.class)
+public class PayloadLogConfig {
+
+    @Autowired
+    public PayloadLogConfig(PayloadLogProperties properties) {
+        PayloadLog.configure(properties.getPercent(), properties.getUserIds());
+    }
+}
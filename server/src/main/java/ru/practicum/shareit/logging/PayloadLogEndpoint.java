@@ -0,0 +1,36 @@
+package ru.practicum.shareit.logging;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * GET /actuator/payloadlog - текущая выборка журнала полных данных,
+ * POST /actuator/payloadlog {"percent": 5, "userIds": [1, 2]} - изменить её, не указанные поля не меняются.
+ */
+@Component
+@Endpoint(id = "payloadlog")
+public class PayloadLogEndpoint {
+
+    @ReadOperation
+    public PayloadSampling sampling() {
+        return PayloadLog.sampling();
+    }
+
+    @WriteOperation
+    public PayloadSampling configure(@Nullable Double percent, @Nullable Set<Long> userIds) {
+        PayloadSampling current = PayloadLog.sampling();
+        try {
+            PayloadLog.configure(percent == null ? current.getPercent() : percent,
+                    userIds == null ? current.getUserIds() : userIds);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return PayloadLog.sampling();
+    }
+}
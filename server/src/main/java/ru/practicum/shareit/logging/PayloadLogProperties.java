@@ -0,0 +1,23 @@
+package ru.practicum.shareit.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Начальная выборка журнала полных данных, во время работы меняется через /actuator/payloadlog.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit.logging.payload")
+public class PayloadLogProperties {
+    /**
+     * Доля запросов в процентах, для которых пишутся полные данные.
+     */
+    private double percent = 0;
+    /**
+     * Пользователи, для запросов которых полные данные пишутся всегда.
+     */
+    private Set<Long> userIds = new HashSet<>();
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.logging;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Какие запросы попадают в журнал полных данных: пользователи из списка и доля остальных в процентах.
+ */
+@Value
+public class PayloadSampling {
+    double percent;
+    Set<Long> userIds;
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Время выполнения каждого HQL/JPQL запроса (hibernate.query) в дополнение к общей статистике Hibernate
+ * и метрикам пула соединений, которые Spring Boot публикует сам (hibernate.*, hikaricp.connections.*).
+ * Требует hibernate.generate_statistics=true.
+ */
+@Configuration
+public class PersistenceMetricsConfig {
+    private static final String SESSION_FACTORY_NAME = "entityManagerFactory";
+
+    @Bean
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateQueryMetrics(entityManagerFactory.unwrap(SessionFactory.class), SESSION_FACTORY_NAME,
+                Tags.empty());
+    }
+}
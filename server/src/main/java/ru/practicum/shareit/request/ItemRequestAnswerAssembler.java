@@ -0,0 +1,58 @@
+package ru.practicum.shareit.request;
+
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestWithAnswerDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Собирает запросы на вещи вместе с ответами (предметами, добавленными под запрос).
+ * Ответы для всей страницы запросов загружаются одним запросом к БД и группируются за один проход.
+ */
+public class ItemRequestAnswerAssembler {
+    private final ItemRepository itemStorage;
+
+    public ItemRequestAnswerAssembler(ItemRepository itemStorage) {
+        this.itemStorage = itemStorage;
+    }
+
+    public List<ItemRequestWithAnswerDto> assemble(final Collection<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemForRequestDto>> requestItems =
+                groupByRequestId(itemStorage.findRequestAnswersByRequestIdIn(requestIds));
+
+        List<ItemRequestWithAnswerDto> resultRequests = new ArrayList<>(requests.size());
+        for (ItemRequest itemRequest : requests) {
+            resultRequests.add(ItemRequestMapper.itemRequestAndAnswersToItemRequestWithAnswerDto(itemRequest,
+                    requestItems.getOrDefault(itemRequest.getId(), Collections.emptyList())));
+        }
+        return resultRequests;
+    }
+
+    public ItemRequestWithAnswerDto assemble(final ItemRequest request) {
+        return assemble(List.of(request)).get(0);
+    }
+
+    public static Map<Long, List<ItemForRequestDto>> groupByRequestId(final List<ItemForRequestDto> answers) {
+        Map<Long, List<ItemForRequestDto>> requestItems = new HashMap<>();
+        for (ItemForRequestDto answer : answers) {
+            requestItems.computeIfAbsent(answer.getRequestId(), requestId -> new ArrayList<>()).add(answer);
+        }
+        return requestItems;
+    }
+}
@@ -8,34 +8,31 @@ import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exceptions.ItemRequestNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.logging.PayloadLog;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestWithAnswerDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserIdRegistry;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class ItemRequestServiceImpl implements ItemRequestService {
-    private UserRepository userStorage;
+    private UserIdRegistry userIds;
     private ItemRequestRepository itemRequestStorage;
-    private ItemRepository itemStorage;
+    private ItemRequestAnswerAssembler answerAssembler;
 
     @Autowired
-    public ItemRequestServiceImpl(UserRepository userStorage, ItemRequestRepository itemRequestStorage,
+    public ItemRequestServiceImpl(UserIdRegistry userIds, ItemRequestRepository itemRequestStorage,
                                   ItemRepository itemStorage) {
-        this.userStorage = userStorage;
+        this.userIds = userIds;
         this.itemRequestStorage = itemRequestStorage;
-        this.itemStorage = itemStorage;
+        this.answerAssembler = new ItemRequestAnswerAssembler(itemStorage);
     }
 
     @Override
@@ -44,7 +41,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         ItemRequest newRequest = ItemRequestMapper.newItemRequestDtoToItemRequest(requestDto, userId);
         ItemRequest savedRequest = itemRequestStorage.save(newRequest);
-        log.info("В БД сохранен новый запрос: \n {}", savedRequest);
+        log.info("В БД сохранен новый запрос ID {} пользователя ID {}", savedRequest.getId(), userId);
+        PayloadLog.debug("Сохранённый запрос: \n {}", savedRequest);
         return ItemRequestMapper.itemRequestToItemRequestDto(savedRequest);
     }
 
@@ -53,32 +51,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         checkUserExists(userId);
 
         List<ItemRequest> requests = itemRequestStorage.findAllByRequestorIdOrderByCreatedAsc(userId);
-        List<ItemRequestWithAnswerDto> resultRequests = new ArrayList<>();
-
-        if (!requests.isEmpty()) {
-            List<Long> requestIds = requests.stream()
-                    .map(ItemRequest::getId)
-                    .collect(Collectors.toList());
-
-            List<Item> items = itemStorage.findAllByRequestIdIn(requestIds);
-
-            Map<Long, List<Item>> requestItems = items.stream()
-                    .collect(Collectors.toMap(
-                            item -> item.getRequest().getId(),
-                            item -> items.stream()
-                                    .filter(item1 -> item1.getRequest().getId().equals(item.getRequest().getId()))
-                                    .collect(Collectors.toList())
-                    ));
-
-            for (ItemRequest itemRequest : requests) {
-                ItemRequestWithAnswerDto requestDto = ItemRequestMapper
-                        .itemRequestToItemRequestWithAnswerDto(itemRequest,
-                                requestItems.getOrDefault(itemRequest.getId(), Collections.emptyList()));
-                resultRequests.add(requestDto);
-            }
+        List<ItemRequestWithAnswerDto> resultRequests = answerAssembler.assemble(requests);
 
-        }
-        log.info("Получены запросы на вещи с ответами из БД. \n {}", resultRequests);
+        log.info("Получены собственные запросы на вещи пользователя ID {} с ответами из БД, запросы: {}", userId,
+                LogSummary.of(resultRequests, ItemRequestWithAnswerDto::getId));
+        PayloadLog.debug("Запросы на вещи с ответами: \n {}", resultRequests);
         return resultRequests;
     }
 
@@ -87,32 +64,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         checkUserExists(userId);
 
         Page<ItemRequest> requests = itemRequestStorage.findAllByRequestorIdNot(userId, pageRequest);
-        List<ItemRequestWithAnswerDto> resultRequests = new ArrayList<>();
-
-        if (!requests.isEmpty()) {
-            List<Long> requestIds = requests.stream()
-                    .map(ItemRequest::getId)
-                    .collect(Collectors.toList());
-
-            List<Item> items = itemStorage.findAllByRequestIdIn(requestIds);
-
-            Map<Long, List<Item>> requestItems = items.stream()
-                    .collect(Collectors.toMap(
-                            item -> item.getRequest().getId(),
-                            item -> items.stream()
-                                    .filter(item1 -> item1.getRequest().getId().equals(item.getRequest().getId()))
-                                    .collect(Collectors.toList())
-                    ));
-
-            for (ItemRequest itemRequest : requests) {
-                ItemRequestWithAnswerDto requestDto = ItemRequestMapper
-                        .itemRequestToItemRequestWithAnswerDto(itemRequest,
-                                requestItems.getOrDefault(itemRequest.getId(), Collections.emptyList()));
-                resultRequests.add(requestDto);
-            }
-        }
+        List<ItemRequestWithAnswerDto> resultRequests = answerAssembler.assemble(requests.getContent());
 
-        log.info("Получены запросы на вещи с ответами из БД. \n {}", resultRequests);
+        log.info("Получены запросы на вещи других пользователей для ID {} с ответами из БД, запросы: {}", userId,
+                LogSummary.of(resultRequests, ItemRequestWithAnswerDto::getId));
+        PayloadLog.debug("Запросы на вещи с ответами: \n {}", resultRequests);
         return resultRequests;
     }
 
@@ -123,13 +79,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequest request = itemRequestStorage.findById(requestId)
                 .orElseThrow(() -> new ItemRequestNotFoundException("Запрос на вещь по указанному ID " + requestId
                         + " не найден"));
-        List<Item> items = itemStorage.findAllByRequestIdIn(List.of(request.getId()));
 
-        return ItemRequestMapper.itemRequestToItemRequestWithAnswerDto(request, items);
+        return answerAssembler.assemble(request);
     }
 
     private void checkUserExists(final Long userId) {
-        if (!userStorage.existsById(userId)) {
+        if (!userIds.exists(userId)) {
             throw new UserNotFoundException("Пользователь не найден по ID " + userId);
         }
     }
@@ -1,13 +1,10 @@
 package ru.practicum.shareit.request.dto;
 
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
-import ru.practicum.shareit.item.dto.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class ItemRequestMapper {
 
@@ -27,17 +24,13 @@ public class ItemRequestMapper {
                 .build();
     }
 
-    public static ItemRequestWithAnswerDto itemRequestToItemRequestWithAnswerDto(final ItemRequest itemRequest,
-                                                                                 List<Item> items) {
-        List<ItemForRequestDto> itemDtos = items.stream()
-                .map(ItemMapper::itemToItemForRequestDto)
-                .collect(Collectors.toList());
-
+    public static ItemRequestWithAnswerDto itemRequestAndAnswersToItemRequestWithAnswerDto(
+            final ItemRequest itemRequest, final List<ItemForRequestDto> answers) {
         return ItemRequestWithAnswerDto.builder()
                 .id(itemRequest.getId())
                 .description(itemRequest.getDescription())
                 .created(itemRequest.getCreated())
-                .items(itemDtos)
+                .items(answers)
                 .build();
     }
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Накопленная статистика одной формы запроса: SQL без значений параметров и с раскрытыми IN-списками,
+ * свёрнутыми в (?...).
+ */
+@Data
+@AllArgsConstructor
+public class QueryShapeStats {
+    private String shape;
+    private long executions;
+    private long totalMillis;
+    private long maxMillis;
+    private String slowestEndpoint;
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.sql;
+
+/**
+ * Счётчик SQL-запросов, выполненных потоком в рамках текущего HTTP-запроса.
+ * Запросы вне start()/stop() (миграции, фоновые задачи) не учитываются.
+ */
+public final class RequestStatementCounter {
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    private RequestStatementCounter() {
+    }
+
+    public static void start() {
+        STATEMENTS.set(new int[1]);
+    }
+
+    public static void increment() {
+        int[] statements = STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+    }
+
+    public static int stop() {
+        int[] statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements != null ? statements[0] : 0;
+    }
+}
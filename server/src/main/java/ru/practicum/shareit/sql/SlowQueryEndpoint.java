@@ -0,0 +1,47 @@
+package ru.practicum.shareit.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * GET /actuator/slowqueries - самые медленные формы запросов с момента запуска или сброса,
+ * DELETE /actuator/slowqueries - сбросить накопленную статистику.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+    private final SlowQueryRegistry registry;
+    private final SlowQueryProperties properties;
+
+    @Autowired
+    public SlowQueryEndpoint(SlowQueryRegistry registry, SlowQueryProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public SlowQueries slowest() {
+        return new SlowQueries(properties.getSlowQueryThreshold().toMillis(), registry.skippedShapes(),
+                registry.slowest(properties.getTopSize()));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class SlowQueries {
+        private long thresholdMillis;
+        private long skippedShapes;
+        private List<QueryShapeStats> queries;
+    }
+}
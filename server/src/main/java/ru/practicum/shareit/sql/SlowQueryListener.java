@@ -0,0 +1,74 @@
+package ru.practicum.shareit.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.http.RequestOriginInterceptor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Учитывает время каждого выполненного через JDBC запроса и пишет в журнал запросы не быстрее
+ * shareit.sql.slow-query-threshold. Эндпоинт и пользователь берутся из MDC, куда их кладёт
+ * {@link RequestOriginInterceptor}.
+ */
+@Slf4j
+@Component
+public class SlowQueryListener implements QueryExecutionListener {
+    private static final int MAX_LOGGED_BATCH_ROWS = 3;
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final SlowQueryRegistry registry;
+    private final long thresholdMillis;
+
+    @Autowired
+    public SlowQueryListener(SlowQueryRegistry registry, SlowQueryProperties properties) {
+        this.registry = registry;
+        this.thresholdMillis = properties.getSlowQueryThreshold().toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        String endpoint = MDC.get(RequestOriginInterceptor.ENDPOINT_KEY);
+        for (QueryInfo queryInfo : queryInfoList) {
+            registry.record(queryInfo.getQuery(), elapsedMillis, endpoint);
+        }
+
+        if (elapsedMillis >= thresholdMillis) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                log.warn("Медленный запрос {} мс, эндпоинт {}, пользователь ID {}: {} параметры {}",
+                        elapsedMillis, endpoint, MDC.get(RequestOriginInterceptor.USER_ID_KEY),
+                        queryInfo.getQuery(), formatParameters(queryInfo.getParametersList()));
+            }
+        }
+    }
+
+    /**
+     * Для пакетного запроса выводятся параметры первых строк пакета и число остальных.
+     */
+    private static String formatParameters(final List<List<ParameterSetOperation>> parametersList) {
+        String rows = parametersList.stream()
+                .limit(MAX_LOGGED_BATCH_ROWS)
+                .map(parameters -> parameters.stream()
+                        .map(operation -> truncate(String.valueOf(operation.getArgs()[1])))
+                        .collect(Collectors.joining(", ", "(", ")")))
+                .collect(Collectors.joining(", "));
+        int hiddenRows = parametersList.size() - MAX_LOGGED_BATCH_ROWS;
+        return hiddenRows > 0 ? rows + " и ещё " + hiddenRows + " строк пакета" : rows;
+    }
+
+    private static String truncate(final String value) {
+        return value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value;
+    }
+}
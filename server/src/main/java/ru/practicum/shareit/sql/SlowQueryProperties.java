@@ -0,0 +1,26 @@
+package ru.practicum.shareit.sql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки журнала медленных SQL-запросов.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit.sql")
+public class SlowQueryProperties {
+    /**
+     * Запросы не быстрее порога пишутся в журнал с параметрами, эндпоинтом и пользователем.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+    /**
+     * Сколько самых медленных форм запросов отдаёт /actuator/slowqueries.
+     */
+    private int topSize = 20;
+    /**
+     * Сколько различных форм запросов хранится в памяти. Новые формы сверх предела не учитываются.
+     */
+    private int maxShapes = 1000;
+}
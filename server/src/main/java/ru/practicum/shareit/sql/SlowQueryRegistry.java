@@ -0,0 +1,97 @@
+package ru.practicum.shareit.sql;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Время выполнения по формам запросов. Число хранимых форм ограничено shareit.sql.max-shapes,
+ * поэтому память не растёт с числом различных значений IN-списков и литералов.
+ */
+@Component
+public class SlowQueryRegistry {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SlowQueryProperties properties;
+    private final ConcurrentMap<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final LongAdder skippedShapes = new LongAdder();
+
+    @Autowired
+    public SlowQueryRegistry(SlowQueryProperties properties) {
+        this.properties = properties;
+    }
+
+    public void record(final String sql, final long elapsedMillis, final String endpoint) {
+        String shape = shapeOf(sql);
+        Shape stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= properties.getMaxShapes()) {
+                skippedShapes.increment();
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape, key -> new Shape());
+        }
+        stats.record(elapsedMillis, endpoint);
+    }
+
+    /**
+     * Самые медленные формы по максимальному времени выполнения.
+     */
+    public List<QueryShapeStats> slowest(final int limit) {
+        return shapes.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingLong(QueryShapeStats::getMaxMillis).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public long skippedShapes() {
+        return skippedShapes.sum();
+    }
+
+    public void reset() {
+        shapes.clear();
+        skippedShapes.reset();
+    }
+
+    static String shapeOf(final String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return PARAMETER_LIST.matcher(shape).replaceAll("(?...)");
+    }
+
+    private static final class Shape {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private volatile long maxMillis = -1;
+        private String slowestEndpoint;
+
+        void record(final long elapsedMillis, final String endpoint) {
+            executions.increment();
+            totalMillis.add(elapsedMillis);
+            if (elapsedMillis > maxMillis) {
+                synchronized (this) {
+                    if (elapsedMillis > maxMillis) {
+                        maxMillis = elapsedMillis;
+                        slowestEndpoint = endpoint;
+                    }
+                }
+            }
+        }
+
+        synchronized QueryShapeStats snapshot(final String shape) {
+            return new QueryShapeStats(shape, executions.sum(), totalMillis.sum(), maxMillis, slowestEndpoint);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import ru.practicum.shareit.http.RequestOriginInterceptor;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Считает SQL-запросы каждого HTTP-запроса, включая ленивые загрузки при сериализации ответа,
+ * и сравнивает их с бюджетом эндпоинта. Число запросов публикуется метрикой shareit.sql.statements,
+ * превышения - счётчиком shareit.sql.budget.exceeded и предупреждением в журнале.
+ */
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String BUDGET_HEADER = "X-Sql-Statement-Budget";
+
+    private final StatementBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public StatementBudgetFilter(StatementBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        HttpServletResponse responseToUse = properties.isResponseHeaders()
+                ? new ContentCachingResponseWrapper(response) : response;
+        RequestStatementCounter.start();
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            int statements = RequestStatementCounter.stop();
+            Object endpoint = request.getAttribute(RequestOriginInterceptor.ENDPOINT_KEY);
+            if (endpoint != null) {
+                checkBudget(endpoint.toString(), statements, responseToUse);
+            }
+            if (responseToUse instanceof ContentCachingResponseWrapper) {
+                ((ContentCachingResponseWrapper) responseToUse).copyBodyToResponse();
+            }
+        }
+    }
+
+    private void checkBudget(final String endpoint, final int statements, final HttpServletResponse response) {
+        int limit = properties.limitFor(endpoint);
+        DistributionSummary.builder("shareit.sql.statements")
+                .description("SQL-запросов на один HTTP-запрос")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(statements);
+        if (statements > limit) {
+            Counter.builder("shareit.sql.budget.exceeded")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Эндпоинт {} выполнил {} SQL-запросов при бюджете {}", endpoint, statements, limit);
+        }
+        if (properties.isResponseHeaders()) {
+            response.setIntHeader(STATEMENTS_HEADER, statements);
+            response.setIntHeader(BUDGET_HEADER, limit);
+        }
+    }
+}
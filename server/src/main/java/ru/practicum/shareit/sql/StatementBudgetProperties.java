@@ -0,0 +1,29 @@
+package ru.practicum.shareit.sql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Допустимое число SQL-запросов на один HTTP-запрос.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit.sql.budget")
+public class StatementBudgetProperties {
+    private int defaultLimit = 10;
+    /**
+     * Бюджеты отдельных эндпоинтов, ключ - "Контроллер.метод", например endpoints[ItemController.getOwnerItems].
+     */
+    private Map<String, Integer> endpoints = new HashMap<>();
+    /**
+     * Добавлять ли в ответ заголовки X-Sql-Statements и X-Sql-Statement-Budget. Для этого ответ
+     * буферизуется целиком, поэтому в production заголовки выключены и остаётся только метрика.
+     */
+    private boolean responseHeaders = false;
+
+    public int limitFor(final String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultLimit);
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.logging.PayloadLog;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserRegisterDto;
 
@@ -29,14 +30,16 @@ public class UserController {
 
     @PostMapping
     public UserDto saveNewUser(@RequestBody UserRegisterDto userRegisterDto) {
-        log.info("Получен POST запрос на сохранение пользователя {}", userRegisterDto);
+        log.info("Получен POST запрос на сохранение пользователя");
+        PayloadLog.debug("Данные нового пользователя: \n {}", userRegisterDto);
         return userService.saveUser(userRegisterDto);
     }
 
     @PatchMapping("/{userId}")
     public UserDto updateUser(@RequestBody UserDto userDto,
                               @PathVariable Long userId) {
-        log.info("Получен PATCH запрос на обновление данных пользователя ID {}. Новые данные: \n {}", userId, userDto);
+        log.info("Получен PATCH запрос на обновление данных пользователя ID {}", userId);
+        PayloadLog.debug("Новые данные пользователя ID {}: \n {}", userId, userDto);
         return userService.updateUser(userDto, userId);
     }
 
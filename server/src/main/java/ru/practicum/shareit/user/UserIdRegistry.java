@@ -0,0 +1,122 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Множество ID существующих пользователей в памяти: битовая карта, индексированная ID
+ * (ID выдаются последовательно, поэтому карта плотная). Найденный ID подтверждается без обращения к БД,
+ * отсутствующий перепроверяется в БД — пользователь мог быть создан другим экземпляром server.
+ * Удаление видно только экземпляру, который его выполнил: на остальных ID остаётся в множестве
+ * до перезапуска. Поэтому положительный ответ - это быстрая проверка для понятной ошибки 404,
+ * а не гарантия: записи от имени удалённого пользователя отклоняет внешний ключ в БД.
+ */
+@Component
+@Slf4j
+public class UserIdRegistry {
+    private final UserRepository userRepository;
+    private final BitSet userIds = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public UserIdRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            userRepository.findAllIds().forEach(this::set);
+            log.info("Загружено {} ID пользователей", userIds.cardinality());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean exists(final Long userId) {
+        if (userId != null && isIndexable(userId)) {
+            lock.readLock().lock();
+            try {
+                if (userIds.get(userId.intValue())) {
+                    return true;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean exists = userRepository.existsById(userId);
+        if (exists) {
+            add(userId);
+        }
+        return exists;
+    }
+
+    /**
+     * Добавляет ID после фиксации транзакции, чтобы откат не оставил в множестве несуществующего пользователя.
+     */
+    public void userSaved(final Long userId) {
+        afterCommit(() -> add(userId));
+    }
+
+    /**
+     * Убирает ID после фиксации транзакции: до неё параллельная проверка в БД ещё видит пользователя
+     * и вернула бы его ID в множество.
+     */
+    public void userRemoved(final Long userId) {
+        afterCommit(() -> remove(userId));
+    }
+
+    private void add(final Long userId) {
+        lock.writeLock().lock();
+        try {
+            set(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(final Long userId) {
+        if (userId == null || !isIndexable(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            userIds.clear(userId.intValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void set(final Long userId) {
+        if (userId != null && isIndexable(userId)) {
+            userIds.set(userId.intValue());
+        }
+    }
+
+    private static void afterCommit(final Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static boolean isIndexable(final long userId) {
+        return userId >= 0 && userId < Integer.MAX_VALUE;
+    }
+}
@@ -1,9 +1,24 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Проверка через findById, а не count-запросом: существующий пользователь
+     * находится во втором уровне кеша Hibernate без обращения к БД.
+     */
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
     int removeById(Long id);
+
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
 }
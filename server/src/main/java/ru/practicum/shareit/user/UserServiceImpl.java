@@ -7,6 +7,8 @@ import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.logging.PayloadLog;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.dto.UserRegisterDto;
@@ -19,17 +21,20 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserIdRegistry userIds;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserIdRegistry userIds) {
         this.userRepository = userRepository;
+        this.userIds = userIds;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
         List<User> users = userRepository.findAll();
-        log.info("Сервис обработал запрос на получение пользователей. \n {}", users);
+        log.info("Сервис обработал запрос на получение пользователей: {}", LogSummary.of(users, User::getId));
+        PayloadLog.debug("Пользователи: \n {}", users);
         return users.stream()
                 .map(UserMapper::userToUserDto)
                 .collect(Collectors.toList());
@@ -41,7 +46,8 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь не найден по ID " + userId));
 
-        log.info("Сервис обработал запрос на нахождение пользователя по ID {},\n {}", userId, user);
+        log.info("Сервис обработал запрос на нахождение пользователя по ID {}", userId);
+        PayloadLog.debug("Пользователь ID {}: \n {}", userId, user);
         return UserMapper.userToUserDto(user);
     }
 
@@ -49,8 +55,9 @@ public class UserServiceImpl implements UserService {
     public UserDto saveUser(final UserRegisterDto userRegisterDto) {
         User registredUser = UserMapper.userRegisterDtoToUser(userRegisterDto);
         User savedUser = userRepository.save(registredUser);
-        log.info("Сервис обработал запрос на сохранение пользователя в БД по запросу {}, Результат: \n {}",
-                registredUser, savedUser);
+        userIds.userSaved(savedUser.getId());
+        log.info("Сервис обработал запрос на сохранение пользователя, ID {}", savedUser.getId());
+        PayloadLog.debug("Сохранён пользователь по запросу {}, Результат: \n {}", userRegisterDto, savedUser);
         return UserMapper.userToUserDto(savedUser);
     }
 
@@ -63,8 +70,8 @@ public class UserServiceImpl implements UserService {
         userDto.setId(userId);
         checkUserEmail(userDto);
         User updatedUser = userRepository.save(updateFields(userDto));
-        log.info("Сервис обработал запрос на обновление пользователя в по запросу {}, Результат: \n {}",
-                userDto, updatedUser);
+        log.info("Сервис обработал запрос на обновление пользователя ID {}", userId);
+        PayloadLog.debug("Обновлён пользователь по запросу {}, Результат: \n {}", userDto, updatedUser);
         return UserMapper.userToUserDto(updatedUser);
     }
 
@@ -76,7 +83,11 @@ public class UserServiceImpl implements UserService {
         }
 
         log.info("Сервис обработал запрос на удаление пользователя из БД по ID {}", userId);
-        return userRepository.removeById(userId) > 0;
+        boolean removed = userRepository.removeById(userId) > 0;
+        if (removed) {
+            userIds.userRemoved(userId);
+        }
+        return removed;
     }
 
     private boolean isUserExists(final Long userId) {
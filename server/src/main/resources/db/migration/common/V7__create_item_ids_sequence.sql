@@ -0,0 +1 @@
+CREATE SEQUENCE IF NOT EXISTS item_ids_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,24 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Миграция не меняет данные: если одобренные бронирования одной вещи уже пересекаются,
+-- она останавливается со списком их ID, и конфликт разрешается вручную до повторного запуска.
+DO $$
+DECLARE
+  conflicts TEXT;
+BEGIN
+  SELECT string_agg(b.id || '/' || o.id, ', ' ORDER BY b.id, o.id) INTO conflicts
+  FROM bookings b
+  JOIN bookings o ON o.item_id = b.item_id
+    AND o.id > b.id
+    AND o.status = 'APPROVED'
+    AND tsrange(o.start_date, o.end_date) && tsrange(b.start_date, b.end_date)
+  WHERE b.status = 'APPROVED';
+
+  IF conflicts IS NOT NULL THEN
+    RAISE EXCEPTION 'Пересекающиеся одобренные бронирования (ID/ID): %', conflicts;
+  END IF;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_approved_overlap
+  EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+  WHERE (status = 'APPROVED');
@@ -0,0 +1,4 @@
+SELECT setval('item_ids_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM items), false);
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('item_ids_seq');
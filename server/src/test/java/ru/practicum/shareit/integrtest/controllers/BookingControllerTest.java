@@ -11,13 +11,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.BookingStatusType;
+import ru.practicum.shareit.booking.dto.BookingBookerDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingStatusBulkDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
 import ru.practicum.shareit.exceptions.BookingNotFoundException;
+import ru.practicum.shareit.exceptions.CursorException;
 import ru.practicum.shareit.exceptions.StatusException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -26,6 +31,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -52,11 +58,11 @@ class BookingControllerTest {
                 LocalDateTime.now().plusHours(5));
         BookingDto bookingDto = BookingDto.builder()
                 .id(1L)
-                .item(new Item())
+                .item(new BookingItemDto())
                 .end(requestDto.getEnd().toString())
                 .start(requestDto.getStart().toString())
                 .status(BookingStatusType.WAITING)
-                .booker(new User())
+                .booker(new BookingBookerDto())
                 .build();
 
         when(bookingService.addNewRequest(userId, requestDto))
@@ -73,8 +79,8 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.id", is(bookingDto.getId()), Long.class))
                 .andExpect(jsonPath("$.start", notNullValue()))
                 .andExpect(jsonPath("$.end", notNullValue()))
-                .andExpect(jsonPath("$.booker", is(new User()), User.class))
-                .andExpect(jsonPath("$.item", is(new Item()), Item.class))
+                .andExpect(jsonPath("$.booker", is(new BookingBookerDto()), BookingBookerDto.class))
+                .andExpect(jsonPath("$.item", is(new BookingItemDto()), BookingItemDto.class))
                 .andExpect(jsonPath("$.status", is(BookingStatusType.WAITING.toString())));
     }
 
@@ -86,11 +92,11 @@ class BookingControllerTest {
 
         BookingDto bookingDto = BookingDto.builder()
                 .id(1L)
-                .item(new Item())
+                .item(new BookingItemDto())
                 .end(LocalDateTime.now().plusHours(5).toString())
                 .start(LocalDateTime.now().plusHours(2).toString())
                 .status(BookingStatusType.APPROVED)
-                .booker(new User())
+                .booker(new BookingBookerDto())
                 .build();
 
         when(bookingService.ownerChangeStatus(userId, bookingDto.getId(), approved))
@@ -107,11 +113,55 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.id", is(bookingDto.getId()), Long.class))
                 .andExpect(jsonPath("$.start", notNullValue()))
                 .andExpect(jsonPath("$.end", notNullValue()))
-                .andExpect(jsonPath("$.booker", is(new User()), User.class))
-                .andExpect(jsonPath("$.item", is(new Item()), Item.class))
+                .andExpect(jsonPath("$.booker", is(new BookingBookerDto()), BookingBookerDto.class))
+                .andExpect(jsonPath("$.item", is(new BookingItemDto()), BookingItemDto.class))
                 .andExpect(jsonPath("$.status", is(BookingStatusType.APPROVED.toString())));
     }
 
+    @Test
+    void testOwnerChangeStatuses_ReturnResultPerBooking_WhenBulkRequest() throws Exception {
+        // given
+        Long userId = 1L;
+        BookingStatusBulkDto bulkDto = new BookingStatusBulkDto(List.of(1L, 2L));
+        List<BookingStatusResultDto> results = List.of(
+                new BookingStatusResultDto(1L, BookingStatusType.APPROVED, null),
+                new BookingStatusResultDto(2L, null, "Бронирование не найдено по ID 2"));
+
+        when(bookingService.ownerChangeStatuses(userId, bulkDto.getBookingIds(), true))
+                .thenReturn(results);
+
+        // expect
+        mvc.perform(patch(URL.concat("/bulk"))
+                        .content(mapper.writeValueAsString(bulkDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is(BookingStatusType.APPROVED.toString())))
+                .andExpect(jsonPath("$[1].status", nullValue()))
+                .andExpect(jsonPath("$[1].error", is("Бронирование не найдено по ID 2")));
+    }
+
+    @Test
+    void testOwnerChangeStatuses_ReturnBadRequest_WhenBookingIdsAreEmpty() throws Exception {
+        // given
+        BookingStatusBulkDto bulkDto = new BookingStatusBulkDto(List.of());
+
+        // expect
+        mvc.perform(patch(URL.concat("/bulk"))
+                        .content(mapper.writeValueAsString(bulkDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bookingService);
+    }
+
     @Test
     void testOwnerChangeStatus_ReturnError_WhenBookingIsNotExists() throws Exception {
         // given
@@ -177,11 +227,11 @@ class BookingControllerTest {
 
         BookingDto bookingDto = BookingDto.builder()
                 .id(1L)
-                .item(new Item())
+                .item(new BookingItemDto())
                 .end(LocalDateTime.now().plusHours(5).toString())
                 .start(LocalDateTime.now().plusHours(2).toString())
                 .status(BookingStatusType.APPROVED)
-                .booker(new User())
+                .booker(new BookingBookerDto())
                 .build();
 
         when(bookingService.getBookingById(userId, bookingDto.getId()))
@@ -198,8 +248,8 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.id", is(bookingDto.getId()), Long.class))
                 .andExpect(jsonPath("$.start", notNullValue()))
                 .andExpect(jsonPath("$.end", notNullValue()))
-                .andExpect(jsonPath("$.booker", is(new User()), User.class))
-                .andExpect(jsonPath("$.item", is(new Item()), Item.class))
+                .andExpect(jsonPath("$.booker", is(new BookingBookerDto()), BookingBookerDto.class))
+                .andExpect(jsonPath("$.item", is(new BookingItemDto()), BookingItemDto.class))
                 .andExpect(jsonPath("$.status", is(BookingStatusType.APPROVED.toString())));
     }
 
@@ -227,11 +277,11 @@ class BookingControllerTest {
         // given
         BookingDto bookingDto = BookingDto.builder()
                 .id(1L)
-                .item(new Item())
+                .item(new BookingItemDto())
                 .end(LocalDateTime.now().plusHours(5).toString())
                 .start(LocalDateTime.now().plusHours(2).toString())
                 .status(BookingStatusType.APPROVED)
-                .booker(new User())
+                .booker(new BookingBookerDto())
                 .build();
 
         when(bookingService.getBookingByUserId(anyLong(), isA(String.class), isA(PageRequest.class)))
@@ -250,8 +300,8 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].id", is(bookingDto.getId()), Long.class))
                 .andExpect(jsonPath("$.[0].start", notNullValue()))
                 .andExpect(jsonPath("$.[0].end", notNullValue()))
-                .andExpect(jsonPath("$.[0].booker", is(new User()), User.class))
-                .andExpect(jsonPath("$.[0].item", is(new Item()), Item.class))
+                .andExpect(jsonPath("$.[0].booker", is(new BookingBookerDto()), BookingBookerDto.class))
+                .andExpect(jsonPath("$.[0].item", is(new BookingItemDto()), BookingItemDto.class))
                 .andExpect(jsonPath("$.[0].status", is(BookingStatusType.APPROVED.toString())));
     }
 
@@ -263,11 +313,11 @@ class BookingControllerTest {
 
         BookingDto bookingDto = BookingDto.builder()
                 .id(1L)
-                .item(new Item())
+                .item(new BookingItemDto())
                 .end(LocalDateTime.now().plusHours(5).toString())
                 .start(LocalDateTime.now().plusHours(2).toString())
                 .status(BookingStatusType.APPROVED)
-                .booker(new User())
+                .booker(new BookingBookerDto())
                 .build();
 
         when(bookingService.getOwnerBookings(anyLong(), isA(String.class), isA(PageRequest.class)))
@@ -286,8 +336,59 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].id", is(bookingDto.getId()), Long.class))
                 .andExpect(jsonPath("$.[0].start", notNullValue()))
                 .andExpect(jsonPath("$.[0].end", notNullValue()))
-                .andExpect(jsonPath("$.[0].booker", is(new User()), User.class))
-                .andExpect(jsonPath("$.[0].item", is(new Item()), Item.class))
+                .andExpect(jsonPath("$.[0].booker", is(new BookingBookerDto()), BookingBookerDto.class))
+                .andExpect(jsonPath("$.[0].item", is(new BookingItemDto()), BookingItemDto.class))
                 .andExpect(jsonPath("$.[0].status", is(BookingStatusType.APPROVED.toString())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetOwnerBookings_ShouldReturnNextCursorHeader_WhenCursorParamPresent() throws Exception {
+        // given
+        BookingDto bookingDto = BookingDto.builder()
+                .id(1L)
+                .item(new BookingItemDto())
+                .end(LocalDateTime.now().plusHours(5).toString())
+                .start(LocalDateTime.now().plusHours(2).toString())
+                .status(BookingStatusType.APPROVED)
+                .booker(new BookingBookerDto())
+                .build();
+
+        when(bookingService.getOwnerBookings(1L, "ALL", "", 1))
+                .thenReturn(new BookingPageDto(List.of(bookingDto), "NEXT"));
+
+        // expect
+        mvc.perform(get(URL.concat("/owner"))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "NEXT"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$.[0].id", is(bookingDto.getId()), Long.class));
+        verify(bookingService, never())
+                .getOwnerBookings(anyLong(), anyString(), isA(PageRequest.class));
+    }
+
+    @Test
+    void testGetBookingByUserId_ShouldReturnError_WhenCursorIsMalformed() throws Exception {
+        // given
+        when(bookingService.getBookingByUserId(1L, "ALL", "broken", 2))
+                .thenThrow(new CursorException("Некорректный курсор страницы: broken"));
+
+        // expect
+        mvc.perform(get(URL)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("cursor", "broken")
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.integrtest.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -17,6 +18,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
@@ -206,6 +208,103 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.requestId", nullValue()));
     }
 
+    @Test
+    void testImportItems_ShouldReadEveryLine_WhenBodyIsNdjson() throws Exception {
+        // given
+        ItemRegisterDto first = ItemRegisterDto.builder()
+                .name("FIRST ITEM")
+                .description("FIRST ITEM DESC")
+                .available(true)
+                .build();
+        ItemRegisterDto second = ItemRegisterDto.builder()
+                .name("SECOND ITEM")
+                .description("SECOND ITEM DESC")
+                .available(false)
+                .build();
+        String body = mapper.writeValueAsString(first) + "\n" + mapper.writeValueAsString(second) + "\n";
+
+        when(itemService.importItems(1L, List.of(first, second)))
+                .thenReturn(List.of(new ItemImportResultDto(1, 10L, null),
+                        new ItemImportResultDto(2, null, "Вещь уже существует")));
+
+        // expect
+        mvc.perform(post(URL.concat("/bulk"))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].itemId", is(10L), Long.class))
+                .andExpect(jsonPath("$[1].error", is("Вещь уже существует")));
+    }
+
+    @Test
+    void testImportItems_ShouldReadArrayElements_WhenBodyIsJsonArray() throws Exception {
+        // given
+        ItemRegisterDto itemRegisterDto = ItemRegisterDto.builder()
+                .name("ARRAY ITEM")
+                .description("ARRAY ITEM DESC")
+                .available(true)
+                .build();
+
+        when(itemService.importItems(1L, List.of(itemRegisterDto)))
+                .thenReturn(List.of(new ItemImportResultDto(1, 10L, null)));
+
+        // expect
+        mvc.perform(post(URL.concat("/bulk"))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(List.of(itemRegisterDto)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].row", is(1)))
+                .andExpect(jsonPath("$[0].itemId", is(10L), Long.class));
+    }
+
+    @Test
+    void testImportItems_ShouldRejectOnlyThatRow_WhenValueHasWrongType() throws Exception {
+        // given
+        ItemRegisterDto itemRegisterDto = ItemRegisterDto.builder()
+                .name("VALID ITEM")
+                .description("VALID ITEM DESC")
+                .available(true)
+                .build();
+        String body = "{\"name\": \"ITEM\", \"description\": \"DESC\", \"available\": {\"value\": true}}\n"
+                + mapper.writeValueAsString(itemRegisterDto);
+
+        when(itemService.importItems(1L, Arrays.asList(null, itemRegisterDto)))
+                .thenReturn(List.of(new ItemImportResultDto(1, null, "Пустая строка импорта"),
+                        new ItemImportResultDto(2, 11L, null)));
+
+        // expect
+        mvc.perform(post(URL.concat("/bulk"))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].error", Matchers.startsWith("Не удалось прочитать строку: ")))
+                .andExpect(jsonPath("$[1].itemId", is(11L), Long.class));
+    }
+
+    @Test
+    void testImportItems_ShouldReturnBadRequest_WhenLineIsMalformed() throws Exception {
+        // expect
+        mvc.perform(post(URL.concat("/bulk"))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content("{\"name\": \"ITEM\"}\n{\"name\": ")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(itemService);
+    }
+
     @Test
     void testUpdateItem_ShouldReturnUpdatedItemDto_WhenItemExists() throws Exception {
         // given
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.integrtest.controllers;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import ru.practicum.shareit.sql.StatementBudgetFilter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Проверки числа SQL-запросов по заголовкам, которые StatementBudgetFilter добавляет в профиле test.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    /**
+     * Эндпоинт уложился в бюджет, заданный в shareit.sql.budget.
+     */
+    public static ResultMatcher withinStatementBudget() {
+        return result -> {
+            String budget = result.getResponse().getHeader(StatementBudgetFilter.BUDGET_HEADER);
+            assertThat("Нет заголовка " + StatementBudgetFilter.BUDGET_HEADER, budget, notNullValue());
+            String statements = result.getResponse().getHeader(StatementBudgetFilter.STATEMENTS_HEADER);
+            assertThat("Нет заголовка " + StatementBudgetFilter.STATEMENTS_HEADER, statements, notNullValue());
+            assertThat("Число SQL-запросов превысило бюджет", Integer.parseInt(statements),
+                    lessThanOrEqualTo(Integer.parseInt(budget)));
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.integrtest.controllers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatusType;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.integrtest.controllers.SqlStatementBudget.withinStatementBudget;
+
+/**
+ * Эндпоинты на настоящей БД: тест падает, если число SQL-запросов превысило бюджет из shareit.sql.budget.
+ * Без @Transactional, иначе данные из setUp сбрасывались бы в БД внутри проверяемого запроса.
+ */
+@SpringBootTest(properties = "db.name=test")
+@AutoConfigureMockMvc
+class SqlStatementBudgetTest {
+    private static final int ITEMS = 5;
+    private static final int COMMENTS_PER_ITEM = 2;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private User booker;
+    private final List<Item> items = new ArrayList<>();
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<Comment> comments = new ArrayList<>();
+
+    /**
+     * У каждой вещи есть последнее и следующее бронирование и комментарии: запрос на каждую вещь
+     * по отдельности (N+1) превысил бы бюджет.
+     */
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("Budget owner")
+                .email("budget-owner@email.ru")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("Budget booker")
+                .email("budget-booker@email.ru")
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .owner(owner.getId())
+                    .name("BUDGET ITEM " + i)
+                    .description("BUDGET ITEM DESCRIPTION " + i)
+                    .available(true)
+                    .build());
+            items.add(item);
+            bookings.add(saveBooking(item, now.minusDays(2), now.minusDays(1)));
+            bookings.add(saveBooking(item, now.plusDays(1), now.plusDays(2)));
+            for (int c = 0; c < COMMENTS_PER_ITEM; c++) {
+                comments.add(commentRepository.save(Comment.builder()
+                        .text("Budget comment " + c)
+                        .item(item)
+                        .author(booker)
+                        .created(now.minusHours(c + 1L))
+                        .build()));
+            }
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        comments.forEach(comment -> commentRepository.deleteById(comment.getId()));
+        bookings.forEach(booking -> bookingRepository.deleteById(booking.getId()));
+        items.forEach(item -> itemRepository.deleteById(item.getId()));
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    private Booking saveBooking(final Item item, final LocalDateTime start, final LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .status(BookingStatusType.APPROVED)
+                .start(start)
+                .end(end)
+                .booker(booker)
+                .item(item)
+                .build());
+    }
+
+    @Test
+    void testGetOwnerItems_ShouldStayWithinStatementBudget() throws Exception {
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0")
+                        .param("size", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ITEMS)))
+                .andExpect(jsonPath("$[*].lastBooking.id", hasSize(ITEMS)))
+                .andExpect(jsonPath("$[*].nextBooking.id", hasSize(ITEMS)))
+                .andExpect(jsonPath("$[*].comments[*].id", hasSize(ITEMS * COMMENTS_PER_ITEM)))
+                .andExpect(withinStatementBudget());
+    }
+
+    @Test
+    void testGetBookingById_ShouldStayWithinStatementBudget() throws Exception {
+        mvc.perform(get("/bookings/{bookingId}", bookings.get(0).getId())
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+    }
+
+    @Test
+    void testGetItemById_ShouldStayWithinStatementBudget() throws Exception {
+        mvc.perform(get("/items/{itemId}", items.get(0).getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+    }
+}
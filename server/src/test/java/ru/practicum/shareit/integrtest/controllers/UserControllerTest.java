@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
@@ -176,4 +177,34 @@ class UserControllerTest {
                 .andExpect(content().contentType("application/json"))
                 .andExpect(content().string("true"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetUserById_ShouldReturnNotModified_WhenIfNoneMatchEqualsEtag() throws Exception {
+        // given
+        User user = User.builder()
+                .id(1L)
+                .name("Test name")
+                .email("teseemail@email.ru")
+                .build();
+        UserDto userDto = UserMapper.userToUserDto(user);
+
+        when(userService.getUserById(anyLong()))
+                .thenReturn(userDto);
+
+        String etag = mvc.perform(get(URL.concat("/{userId}"), user.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // expect
+        mvc.perform(get(URL.concat("/{userId}"), user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+}
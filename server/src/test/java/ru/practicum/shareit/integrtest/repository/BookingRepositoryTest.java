@@ -7,16 +7,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatusType;
+import ru.practicum.shareit.booking.repository.BookingCursor;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingRow;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -64,10 +70,12 @@ class BookingRepositoryTest {
 
         itemRepository.save(item);
 
+        // H2 хранит время с точностью до микросекунд: границы в памяти должны совпадать с сохранёнными
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         booking = Booking.builder()
                 .status(BookingStatusType.WAITING)
-                .end(LocalDateTime.now().plusHours(5))
-                .start(LocalDateTime.now().plusHours(1))
+                .end(now.plusHours(5))
+                .start(now.plusHours(1))
                 .booker(testUser2)
                 .item(item)
                 .build();
@@ -90,11 +98,30 @@ class BookingRepositoryTest {
         Long bookerId = booking.getBooker().getId();
 
         // do
-        List<Booking> result = bookingRepository.findAllByBookerId(bookerId, PageRequest.of(0, 1));
+        List<BookingRow> result = bookingRepository.findAllByBookerId(bookerId, PageRequest.of(0, 1));
 
         // expect
         assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(booking)));
+        assertThat(ids(result), equalTo(List.of(booking.getId())));
+    }
+
+    @Test
+    void testFindAllOwnerItemBookings_ShouldReturnItemAndBookerColumns_WhenBookingIsExists() {
+        // do
+        List<BookingRow> result = bookingRepository.findAllOwnerItemBookings(item.getOwner(), PageRequest.of(0, 1));
+
+        // expect
+        assertThat(result, hasSize(1));
+        BookingRow row = result.get(0);
+        assertThat(row.getStatus(), equalTo(BookingStatusType.WAITING));
+        assertThat(row.getItemId(), equalTo(item.getId()));
+        assertThat(row.getItemName(), equalTo(item.getName()));
+        assertThat(row.getItemDescription(), equalTo(item.getDescription()));
+        assertThat(row.getItemAvailable(), equalTo(true));
+        assertThat(row.getItemOwner(), equalTo(testUser.getId()));
+        assertThat(row.getBookerId(), equalTo(testUser2.getId()));
+        assertThat(row.getBookerName(), equalTo(testUser2.getName()));
+        assertThat(row.getBookerEmail(), equalTo(testUser2.getEmail()));
     }
 
     @Test
@@ -104,12 +131,12 @@ class BookingRepositoryTest {
         booking.setStart(LocalDateTime.now().minusHours(2));
 
         // do
-        List<Booking> result = bookingRepository.findAllCurrentBookings(bookerId, LocalDateTime.now(),
+        List<BookingRow> result = bookingRepository.findAllCurrentBookings(bookerId, LocalDateTime.now(),
                 PageRequest.of(0, 1));
 
         // expect
         assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(booking)));
+        assertThat(ids(result), equalTo(List.of(booking.getId())));
     }
 
     @Test
@@ -119,12 +146,12 @@ class BookingRepositoryTest {
         booking.setEnd(LocalDateTime.now().minusHours(2));
 
         // do
-        List<Booking> result = bookingRepository.findAllPastBookings(bookerId, LocalDateTime.now(),
+        List<BookingRow> result = bookingRepository.findAllPastBookings(bookerId, LocalDateTime.now(),
                 PageRequest.of(0, 1));
 
         // expect
         assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(booking)));
+        assertThat(ids(result), equalTo(List.of(booking.getId())));
     }
 
     @Test
@@ -134,11 +161,11 @@ class BookingRepositoryTest {
         booking.setStart(LocalDateTime.now().plusHours(2));
 
         // do
-        List<Booking> result = bookingRepository.findAllFutureBookings(bookerId, PageRequest.of(0, 1));
+        List<BookingRow> result = bookingRepository.findAllFutureBookings(bookerId, PageRequest.of(0, 1));
 
         // expect
         assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(booking)));
+        assertThat(ids(result), equalTo(List.of(booking.getId())));
     }
 
     @Test
@@ -147,12 +174,12 @@ class BookingRepositoryTest {
         Long bookerId = booking.getBooker().getId();
 
         // do
-        List<Booking> result = bookingRepository.findAllByBookerAndStatus(bookerId, BookingStatusType.WAITING,
+        List<BookingRow> result = bookingRepository.findAllByBookerAndStatus(bookerId, BookingStatusType.WAITING,
                 PageRequest.of(0, 1));
 
         // expect
         assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(booking)));
+        assertThat(ids(result), equalTo(List.of(booking.getId())));
     }
 
     @Test
@@ -161,11 +188,11 @@ class BookingRepositoryTest {
         Long itemOwnerId = booking.getItem().getOwner();
 
         // do
-        List<Booking> result = bookingRepository.findAllOwnerItemBookings(itemOwnerId, PageRequest.of(0, 1));
+        List<BookingRow> result = bookingRepository.findAllOwnerItemBookings(itemOwnerId, PageRequest.of(0, 1));
 
         // expect
         assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(booking)));
+        assertThat(ids(result), equalTo(List.of(booking.getId())));
     }
 
     @Test
@@ -175,12 +202,12 @@ class BookingRepositoryTest {
         booking.setStart(LocalDateTime.now().minusHours(2));
 
         // do
-        List<Booking> result = bookingRepository.findAllOwnerCurrentBookings(itemOwnerId, LocalDateTime.now(),
+        List<BookingRow> result = bookingRepository.findAllOwnerCurrentBookings(itemOwnerId, LocalDateTime.now(),
                 PageRequest.of(0, 1));
 
         // expect
         assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(booking)));
+        assertThat(ids(result), equalTo(List.of(booking.getId())));
     }
 
     @Test
@@ -190,12 +217,12 @@ class BookingRepositoryTest {
         booking.setEnd(LocalDateTime.now().minusHours(2));
 
         // do
-        List<Booking> result = bookingRepository.findAllPastOwnerItemBookings(itemOwnerId, LocalDateTime.now(),
+        List<BookingRow> result = bookingRepository.findAllPastOwnerItemBookings(itemOwnerId, LocalDateTime.now(),
                 PageRequest.of(0, 1));
 
         // expect
         assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(booking)));
+        assertThat(ids(result), equalTo(List.of(booking.getId())));
     }
 
     @Test
@@ -205,12 +232,12 @@ class BookingRepositoryTest {
         booking.setStart(LocalDateTime.now().plusHours(2));
 
         // do
-        List<Booking> result = bookingRepository.findAllFutureOwnerItemBookings(itemOwnerId, LocalDateTime.now(),
+        List<BookingRow> result = bookingRepository.findAllFutureOwnerItemBookings(itemOwnerId, LocalDateTime.now(),
                 PageRequest.of(0, 1));
 
         // expect
         assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(booking)));
+        assertThat(ids(result), equalTo(List.of(booking.getId())));
     }
 
     @Test
@@ -219,12 +246,12 @@ class BookingRepositoryTest {
         Long itemOwnerId = booking.getItem().getOwner();
 
         // do
-        List<Booking> result = bookingRepository.findAllOwnerItemBookedByStatus(itemOwnerId, BookingStatusType.WAITING,
+        List<BookingRow> result = bookingRepository.findAllOwnerItemBookedByStatus(itemOwnerId, BookingStatusType.WAITING,
                 PageRequest.of(0, 1));
 
         // expect
         assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(booking)));
+        assertThat(ids(result), equalTo(List.of(booking.getId())));
     }
 
     @Test
@@ -270,4 +297,132 @@ class BookingRepositoryTest {
         assertThat(result, hasSize(1));
         assertThat(result, equalTo(List.of(booking)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindLastBookings_ShouldReturnLastBookingsMappedByItemId_WhenBookingExistsAndItemExitst() {
+        // given
+        Long itemId = item.getId();
+        booking.setStart(LocalDateTime.now().minusHours(2));
+        booking.setStatus(BookingStatusType.APPROVED);
+
+        // do
+        Map<Long, Booking> result = bookingRepository.findLastBookings(List.of(itemId), LocalDateTime.now());
+
+        // expect
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(itemId), equalTo(booking));
+    }
+
+    @Test
+    void testFindNextBookings_ShouldReturnNextApprovedBookingsMappedByItemId_WhenBookingExistsAndItemExitst() {
+        // given
+        Long itemId = item.getId();
+        booking.setStart(LocalDateTime.now().plusHours(2));
+        booking.setStatus(BookingStatusType.APPROVED);
+
+        // do
+        Map<Long, Booking> result = bookingRepository.findNextBookings(List.of(itemId), LocalDateTime.now());
+
+        // expect
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(itemId), equalTo(booking));
+    }
+
+    @Test
+    void testFindNextBookings_ShouldReturnEmptyMap_WhenBookingNotApproved() {
+        // given
+        Long itemId = item.getId();
+
+        // do
+        Map<Long, Booking> result = bookingRepository.findNextBookings(List.of(itemId), LocalDateTime.now());
+
+        // expect
+        assertThat(result.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void testFindBookerBookingsAfter_ShouldReturnPagesWithoutOverlap_WhenCursorGiven() {
+        // given
+        Booking olderBooking = Booking.builder()
+                .status(BookingStatusType.WAITING)
+                .end(LocalDateTime.now().plusHours(4))
+                .start(booking.getStart().minusMinutes(30))
+                .booker(testUser2)
+                .item(item)
+                .build();
+        bookingRepository.save(olderBooking);
+        Long bookerId = testUser2.getId();
+
+        // do
+        List<BookingRow> firstPage = bookingRepository.findBookerBookingsAfter(bookerId, BookingState.ALL,
+                LocalDateTime.now(), null, 1);
+        List<BookingRow> secondPage = bookingRepository.findBookerBookingsAfter(bookerId, BookingState.ALL,
+                LocalDateTime.now(), BookingCursor.of(firstPage.get(0)), 1);
+        List<BookingRow> thirdPage = bookingRepository.findBookerBookingsAfter(bookerId, BookingState.ALL,
+                LocalDateTime.now(), BookingCursor.of(secondPage.get(0)), 1);
+
+        // expect
+        assertThat(ids(firstPage), equalTo(List.of(booking.getId())));
+        assertThat(ids(secondPage), equalTo(List.of(olderBooking.getId())));
+        assertThat(thirdPage, empty());
+        bookingRepository.delete(olderBooking);
+    }
+
+    @Test
+    void testFindOwnerBookingsAfter_ShouldReturnBookingsByItemOwnerIdAndStatus_WhenBookingIsExists() {
+        // given
+        Long itemOwnerId = booking.getItem().getOwner();
+
+        // do
+        List<BookingRow> waiting = bookingRepository.findOwnerBookingsAfter(itemOwnerId, BookingState.WAITING,
+                LocalDateTime.now(), null, 2);
+        List<BookingRow> rejected = bookingRepository.findOwnerBookingsAfter(itemOwnerId, BookingState.REJECTED,
+                LocalDateTime.now(), null, 2);
+        List<BookingRow> future = bookingRepository.findOwnerBookingsAfter(itemOwnerId, BookingState.FUTURE,
+                LocalDateTime.now(), null, 2);
+
+        // expect
+        assertThat(ids(waiting), equalTo(List.of(booking.getId())));
+        assertThat(rejected, empty());
+        assertThat(ids(future), equalTo(List.of(booking.getId())));
+    }
+
+    @Test
+    void testExistsApprovedOverlap_ShouldReturnTrue_WhenApprovedBookingIntersectsInterval() {
+        // given
+        booking.setStatus(BookingStatusType.APPROVED);
+        LocalDateTime start = booking.getEnd().minusHours(1);
+        LocalDateTime end = booking.getEnd().plusHours(1);
+
+        // do
+        boolean result = bookingRepository.existsApprovedOverlap(item.getId(), start, end, -1L);
+
+        // expect
+        assertThat(result, equalTo(true));
+    }
+
+    @Test
+    void testExistsApprovedOverlap_ShouldReturnFalse_WhenIntervalsOnlyTouchOrBookingNotApproved() {
+        // given
+        boolean waiting = bookingRepository.existsApprovedOverlap(item.getId(), booking.getStart(),
+                booking.getEnd(), -1L);
+        booking.setStatus(BookingStatusType.APPROVED);
+
+        // do
+        boolean touching = bookingRepository.existsApprovedOverlap(item.getId(), booking.getEnd(),
+                booking.getEnd().plusHours(1), -1L);
+        boolean self = bookingRepository.existsApprovedOverlap(item.getId(), booking.getStart(),
+                booking.getEnd(), booking.getId());
+
+        // expect
+        assertThat(waiting, equalTo(false));
+        assertThat(touching, equalTo(false));
+        assertThat(self, equalTo(false));
+    }
+
+    private static List<Long> ids(final List<BookingRow> bookings) {
+        return bookings.stream()
+                .map(BookingRow::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -14,8 +16,11 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -114,17 +119,17 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void testFindAllByRequestId_ShouldReturnListItemByRequestId_WhenItemExists() {
+    void testFindRequestAnswersByRequestIdIn_ShouldReturnItemForRequestDtos_WhenItemExists() {
         // given
         Long requestId = itemRequest.getId();
         item.setRequest(itemRequest);
+        itemRepository.save(item);
 
         // do
-        List<Item> result = itemRepository.findAllByRequestIdIn(List.of(requestId));
+        List<ItemForRequestDto> result = itemRepository.findRequestAnswersByRequestIdIn(List.of(requestId));
 
         // expect
-        assertThat(result, hasSize(1));
-        assertThat(result, equalTo(List.of(item)));
+        assertThat(result, equalTo(List.of(ItemMapper.itemToItemForRequestDto(item))));
     }
 
     @Test
@@ -145,4 +150,42 @@ class ItemRepositoryTest {
         assertThat(result, equalTo(itemForSave));
         assertThat(result.getRequest().getId(), equalTo(requestId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSaveItems_ShouldAssignIdsToEveryItem_WhenItemsSpanSeveralBatches() {
+        // given
+        List<Item> items = new ArrayList<>();
+        List<Long> requestIds = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(Item.builder()
+                    .owner(user.getId())
+                    .name("IMPORTED ITEM " + i)
+                    .description("IMPORTED ITEM DESCRIPTION")
+                    .available(true)
+                    .build());
+            requestIds.add(i == 0 ? itemRequest.getId() : null);
+        }
+
+        // do
+        itemRepository.saveItems(items, requestIds);
+
+        // expect
+        Set<Long> ids = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        assertThat(ids, hasSize(120));
+        assertThat(ids, not(hasItem(nullValue())));
+        assertThat(itemRepository.findAllByOwnerAndNameIn(user.getId(),
+                List.of("IMPORTED ITEM 0", "IMPORTED ITEM 119")), hasSize(2));
+        assertThat(itemRepository.findRequestAnswersByRequestIdIn(List.of(itemRequest.getId())), hasSize(1));
+    }
+
+    @Test
+    void testFindExistingRequestIds_ShouldReturnOnlyExistingIds() {
+        // do
+        List<Long> result = itemRepository.findExistingRequestIds(List.of(itemRequest.getId(), -1L));
+
+        // expect
+        assertThat(result, equalTo(List.of(itemRequest.getId())));
+    }
+}
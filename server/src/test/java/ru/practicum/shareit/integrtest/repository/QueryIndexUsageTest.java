@@ -0,0 +1,216 @@
+package ru.practicum.shareit.integrtest.repository;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingStatusType;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Планы выполнения SQL, который Hibernate генерирует для запросов репозиториев. Запрос перехватывается
+ * JDBC-прокси вместе с параметрами и повторяется через EXPLAIN.
+ * H2 сам создаёт индексы по внешним ключам, поэтому одноколоночные индексы из V3 для H2 равноценны им:
+ * их наличие проверяется по INFORMATION_SCHEMA, а по имени в плане - только составные индексы,
+ * которые H2 выбирает вместо индекса внешнего ключа.
+ */
+@DataJpaTest
+@Import(QueryIndexUsageTest.QueryCaptureConfig.class)
+class QueryIndexUsageTest {
+    private static final String TABLE_SCAN = "tableScan";
+    private static final List<QueryInfo> CAPTURED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @TestConfiguration
+    static class QueryCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor queryCapturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create((DataSource) bean)
+                                .afterQuery((execInfo, queryInfoList) -> CAPTURED.addAll(queryInfoList))
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        CAPTURED.clear();
+    }
+
+    @Test
+    void testMigrations_ShouldCreateQueryIndexes_WhenSchemaMigrated() {
+        // do
+        List<String> indexes = jdbcTemplate.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES",
+                String.class);
+
+        // expect
+        assertThat(indexes, hasItems("IX_BOOKINGS_BOOKER_START", "IX_BOOKINGS_ITEM_STATUS_START",
+                "IX_BOOKINGS_ITEM_STATUS_END", "IX_ITEMS_OWNER", "IX_ITEMS_REQUEST", "IX_COMMENTS_ITEM",
+                "IX_REQUESTS_REQUESTOR_CREATED"));
+    }
+
+    @Test
+    void testBookerBookings_ShouldUseIndex_WhenFilteredByBookerAndStatus() {
+        // do
+        bookingRepository.findAllByBookerAndStatus(1L, BookingStatusType.WAITING, PageRequest.of(0, 10));
+
+        // expect
+        assertThat(explainLastQuery(), not(containsString(TABLE_SCAN)));
+    }
+
+    /**
+     * Условие "бронировал пользователь или он владелец вещи" (OR по двум таблицам) не обслуживается
+     * ни одним индексом. Тест фиксирует это: после переписывания запросов проверку нужно развернуть.
+     */
+    @Test
+    void testBookerPastAndFutureBookings_ShouldScanBookings_WhenFilteredByBookerOrOwner() {
+        // do
+        bookingRepository.findAllPastBookings(1L, LocalDateTime.now(), PageRequest.of(0, 10));
+        String pastPlan = explainLastQuery();
+        bookingRepository.findAllFutureBookings(1L, PageRequest.of(0, 10));
+        String futurePlan = explainLastQuery();
+
+        // expect
+        assertThat(pastPlan, containsString(TABLE_SCAN));
+        assertThat(futurePlan, containsString(TABLE_SCAN));
+    }
+
+    @Test
+    void testOwnerBookings_ShouldUseIndexes_WhenJoinedThroughItems() {
+        // do
+        bookingRepository.findAllOwnerItemBookings(1L, PageRequest.of(0, 10));
+
+        // expect
+        assertThat(explainLastQuery(), not(containsString(TABLE_SCAN)));
+    }
+
+    @Test
+    void testLastAndNextBookings_ShouldUseCompositeIndex_WhenFilteredByItemsAndStatus() {
+        // do
+        bookingRepository.findLastBookings(List.of(1L, 2L), LocalDateTime.now());
+        String lastPlan = explainLastQuery();
+        bookingRepository.findNextBookings(List.of(1L, 2L), LocalDateTime.now());
+        String nextPlan = explainLastQuery();
+
+        // expect
+        assertThat(lastPlan, containsString("IX_BOOKINGS_ITEM_STATUS_START"));
+        assertThat(nextPlan, containsString("IX_BOOKINGS_ITEM_STATUS_START"));
+    }
+
+    @Test
+    void testApprovedOverlap_ShouldUseCompositeIndex_WhenFilteredByItemAndStatus() {
+        // do
+        bookingRepository.existsApprovedOverlap(1L, LocalDateTime.now(), LocalDateTime.now().plusHours(1), -1L);
+
+        // expect
+        assertThat(explainLastQuery(), containsString("IX_BOOKINGS_ITEM_STATUS_"));
+    }
+
+    @Test
+    void testItemLookups_ShouldUseIndexes_WhenFilteredByOwnerOrRequest() {
+        // do
+        itemRepository.findByOwner(1L, PageRequest.of(0, 10));
+        String ownerPlan = explainLastQuery();
+        itemRepository.findRequestAnswersByRequestIdIn(List.of(1L, 2L));
+        String requestPlan = explainLastQuery();
+
+        // expect
+        assertThat(ownerPlan, not(containsString(TABLE_SCAN)));
+        assertThat(requestPlan, not(containsString(TABLE_SCAN)));
+    }
+
+    @Test
+    void testComments_ShouldUseIndex_WhenFilteredByItems() {
+        // do
+        commentRepository.findAllByItemIdIn(List.of(1L, 2L));
+
+        // expect
+        assertThat(explainLastQuery(), not(containsString(TABLE_SCAN)));
+    }
+
+    @Test
+    void testOwnRequests_ShouldUseIndex_WhenFilteredByRequestor() {
+        // do
+        itemRequestRepository.findAllByRequestorIdOrderByCreatedAsc(1L);
+
+        // expect
+        assertThat(explainLastQuery(), not(containsString(TABLE_SCAN)));
+    }
+
+    /**
+     * EXPLAIN последнего перехваченного SELECT с теми же значениями параметров.
+     */
+    private String explainLastQuery() {
+        List<QueryInfo> selects = new ArrayList<>();
+        for (QueryInfo queryInfo : CAPTURED) {
+            if (queryInfo.getQuery().trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                selects.add(queryInfo);
+            }
+        }
+        QueryInfo query = selects.get(selects.size() - 1);
+        List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                ? List.of()
+                : query.getParametersList().get(0);
+        CAPTURED.clear();
+
+        return jdbcTemplate.query("EXPLAIN " + query.getQuery(), statement -> replay(statement, parameters),
+                resultSet -> resultSet.next() ? resultSet.getString(1) : null);
+    }
+
+    private static void replay(final PreparedStatement statement, final List<ParameterSetOperation> parameters)
+            throws SQLException {
+        for (ParameterSetOperation parameter : parameters) {
+            try {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new SQLException("Не удалось повторить установку параметра " + parameter.getMethod(), e);
+            }
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package ru.practicum.shareit.integrtest.repository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -17,11 +23,13 @@ import static org.hamcrest.Matchers.*;
 class UserRepositoryTest {
 
     private UserRepository userRepository;
+    private EntityManagerFactory entityManagerFactory;
     private User user;
 
     @Autowired
-    public UserRepositoryTest(UserRepository userRepository) {
+    public UserRepositoryTest(UserRepository userRepository, EntityManagerFactory entityManagerFactory) {
         this.userRepository = userRepository;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @BeforeEach
@@ -55,4 +63,28 @@ class UserRepositoryTest {
         assertThat(deletedElements, equalTo(1));
         assertThat(result.isPresent(), equalTo(expect));
     }
-}
\ No newline at end of file
+
+    /**
+     * Кеш второго уровня заполняется только закоммиченными данными, поэтому тест работает
+     * без транзакции теста: сохранение и чтения идут в собственных транзакциях репозитория.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testExistsById_ShouldHitSecondLevelCache_WhenUserLoadedBefore() {
+        // given
+        Cache secondLevelCache = entityManagerFactory.getCache();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        secondLevelCache.evictAll();
+
+        // do
+        boolean existsAfterLoad = userRepository.existsById(user.getId());
+        long hitsBefore = statistics.getSecondLevelCacheHitCount();
+        boolean existsFromCache = userRepository.existsById(user.getId());
+
+        // expect
+        assertThat(existsAfterLoad, equalTo(true));
+        assertThat(existsFromCache, equalTo(true));
+        assertThat(secondLevelCache.contains(User.class, user.getId()), equalTo(true));
+        assertThat(statistics.getSecondLevelCacheHitCount(), equalTo(hitsBefore + 1));
+    }
+}
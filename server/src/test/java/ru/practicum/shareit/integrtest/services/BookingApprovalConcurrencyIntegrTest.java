@@ -0,0 +1,139 @@
+package ru.practicum.shareit.integrtest.services;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatusType;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.BookingConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+/**
+ * Одобрения выполняются в собственных транзакциях сервиса, поэтому тест не транзакционный
+ * и удаляет свои данные сам.
+ */
+@SpringBootTest(properties = "db.name=test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingApprovalConcurrencyIntegrTest {
+    private static final int ATTEMPTS = 10;
+
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("concurrency-owner@email.ru")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("concurrency-booker@email.ru")
+                .build());
+        item = itemRepository.save(Item.builder()
+                .owner(owner.getId())
+                .name("ITEM TEST NAME")
+                .description("ITEM TEST DESCRIPTION")
+                .available(true)
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bookingRepository.deleteAllById(bookings.stream().map(Booking::getId).collect(Collectors.toList()));
+        itemRepository.delete(item);
+        userRepository.delete(booker);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void testOwnerChangeStatus_ShouldApproveOnlyOne_WhenOverlappingBookingsApprovedConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                // given
+                LocalDateTime start = LocalDateTime.now().plusDays(attempt + 1L);
+                Booking first = makeWaitingBooking(start, start.plusHours(5));
+                Booking second = makeWaitingBooking(start.plusHours(1), start.plusHours(6));
+                CountDownLatch startGate = new CountDownLatch(1);
+
+                // do
+                List<Future<?>> approvals = new ArrayList<>();
+                for (Booking booking : List.of(first, second)) {
+                    approvals.add(executor.submit(() -> {
+                        startGate.await();
+                        return bookingService.ownerChangeStatus(owner.getId(), booking.getId(), true);
+                    }));
+                }
+                startGate.countDown();
+
+                // expect
+                int conflicts = 0;
+                for (Future<?> approval : approvals) {
+                    try {
+                        approval.get(10, TimeUnit.SECONDS);
+                    } catch (ExecutionException e) {
+                        assertThat(e.getCause(), instanceOf(BookingConflictException.class));
+                        conflicts++;
+                    }
+                }
+                assertThat(conflicts, equalTo(1));
+                assertThat(countApproved(first, second), equalTo(1L));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Booking makeWaitingBooking(final LocalDateTime start, final LocalDateTime end) {
+        Booking booking = bookingRepository.save(Booking.builder()
+                .status(BookingStatusType.WAITING)
+                .start(start)
+                .end(end)
+                .booker(booker)
+                .item(item)
+                .build());
+        bookings.add(booking);
+        return booking;
+    }
+
+    private long countApproved(final Booking... bookings) {
+        long approved = 0;
+        for (Booking booking : bookings) {
+            if (bookingRepository.findById(booking.getId()).get().getStatus() == BookingStatusType.APPROVED) {
+                approved++;
+            }
+        }
+        return approved;
+    }
+}
@@ -105,13 +105,13 @@ class BookingServiceImplIntegrTest {
         assertThat(result, hasSize(2));
         assertThat(result.get(0).getStart(), notNullValue());
         assertThat(result.get(0).getEnd(), notNullValue());
-        assertThat(result.get(0).getBooker(), equalTo(user));
-        assertThat(result.get(0).getItem(), equalTo(item));
+        assertThat(result.get(0).getBooker().getId(), equalTo(user.getId()));
+        assertThat(result.get(0).getItem().getId(), equalTo(item.getId()));
         assertThat(result.get(0).getStatus(), equalTo(BookingStatusType.APPROVED));
         assertThat(result.get(1).getStart(), notNullValue());
         assertThat(result.get(1).getEnd(), notNullValue());
-        assertThat(result.get(1).getBooker(), equalTo(user));
-        assertThat(result.get(1).getItem(), equalTo(item));
+        assertThat(result.get(1).getBooker().getId(), equalTo(user.getId()));
+        assertThat(result.get(1).getItem().getId(), equalTo(item.getId()));
         assertThat(result.get(1).getStatus(), equalTo(BookingStatusType.APPROVED));
     }
 }
\ No newline at end of file
@@ -4,27 +4,38 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.BookingServiceImpl;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatusType;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.repository.BookingCursor;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingRow;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -43,7 +54,8 @@ class BookingServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        this.bookingService = new BookingServiceImpl(bookingStorage, itemStorage, userStorage);
+        this.bookingService = new BookingServiceImpl(bookingStorage, itemStorage, userStorage,
+                new UserIdRegistry(userStorage), TransactionOperations.withoutTransaction());
     }
 
     private User makeDefaultUser() {
@@ -76,6 +88,14 @@ class BookingServiceImplTest {
                 .build();
     }
 
+    private BookingRow toRow(final Booking booking) {
+        Item item = booking.getItem();
+        User booker = booking.getBooker();
+        return new BookingRow(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(), item.getId(),
+                item.getName(), item.getDescription(), item.getAvailable(), item.getOwner(), booker.getId(),
+                booker.getName(), booker.getEmail());
+    }
+
     private BookingRequestDto makeDefaultBookingRequestDto() {
         return new BookingRequestDto(1L, LocalDateTime.now().plusHours(1),
                 LocalDateTime.now().plusHours(2));
@@ -288,7 +308,7 @@ class BookingServiceImplTest {
 
         when(bookingStorage.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(bookingStorage.save(booking))
+        when(bookingStorage.saveAndFlush(booking))
                 .thenReturn(booking);
 
         // do
@@ -299,11 +319,41 @@ class BookingServiceImplTest {
         assertThat(expect, equalTo(result.getStatus()));
         verify(bookingStorage, times(1))
                 .findById(anyLong());
+        InOrder lockThenCheck = inOrder(itemStorage, bookingStorage);
+        lockThenCheck.verify(itemStorage)
+                .lockById(booking.getItem().getId());
+        lockThenCheck.verify(bookingStorage)
+                .existsApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                        booking.getId());
         verify(bookingStorage, times(1))
-                .save(isA(Booking.class));
+                .saveAndFlush(isA(Booking.class));
         verifyNoMoreInteractions(bookingStorage);
     }
 
+    @Test
+    void testOwnerChangeStatus_ShouldReturnError_WhenApprovedBookingOverlaps() {
+        // given
+        Long userId = 2L;
+        Booking booking = makeDefaultBooking();
+
+        when(bookingStorage.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+        when(bookingStorage.existsApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                booking.getId()))
+                .thenReturn(true);
+
+        // do
+        BookingConflictException exception = Assertions.assertThrows(BookingConflictException.class,
+                () -> bookingService.ownerChangeStatus(userId, booking.getId(), true));
+
+        // expect
+        assertThat(exception.getMessage(), equalTo("Вещь уже забронирована на пересекающийся период. " +
+                "Бронирование ID " + booking.getId()));
+        assertThat(booking.getStatus(), equalTo(BookingStatusType.WAITING));
+        verify(bookingStorage, never())
+                .saveAndFlush(isA(Booking.class));
+    }
+
     @Test
     void testOwnerChangeStatus_ShouldReturnBookingStatusRejected_WhenArgumentApprovedFalse() {
         // given
@@ -312,7 +362,7 @@ class BookingServiceImplTest {
 
         when(bookingStorage.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(bookingStorage.save(booking))
+        when(bookingStorage.saveAndFlush(booking))
                 .thenReturn(booking);
 
         // do
@@ -324,10 +374,88 @@ class BookingServiceImplTest {
         verify(bookingStorage, times(1))
                 .findById(anyLong());
         verify(bookingStorage, times(1))
-                .save(isA(Booking.class));
+                .saveAndFlush(isA(Booking.class));
         verifyNoMoreInteractions(bookingStorage);
     }
 
+    @Test
+    void testOwnerChangeStatuses_ShouldApproveOnlyNonOverlapping_WhenBatchContainsConflicts() {
+        // given
+        Long userId = 2L;
+        Booking first = makeDefaultBooking();
+        Booking overlapping = makeDefaultBooking();
+        overlapping.setId(2L);
+        overlapping.setStart(first.getStart().plusMinutes(30));
+        overlapping.setEnd(first.getEnd().plusMinutes(30));
+        List<Long> bookingIds = List.of(1L, 2L, 3L, 1L);
+
+        when(bookingStorage.findItemIdsByIdInAndOwner(Set.of(1L, 2L, 3L), userId))
+                .thenReturn(List.of(first.getItem().getId()));
+        when(bookingStorage.findAllWithItemByIdIn(Set.of(1L, 2L, 3L)))
+                .thenReturn(List.of(first, overlapping));
+        when(bookingStorage.findApprovedByItemIdInOverlapping(Set.of(first.getItem().getId()), first.getStart(),
+                overlapping.getEnd()))
+                .thenReturn(List.of());
+        when(bookingStorage.updateStatusByIdIn(List.of(1L), BookingStatusType.APPROVED))
+                .thenReturn(1);
+
+        // do
+        List<BookingStatusResultDto> result = bookingService.ownerChangeStatuses(userId, bookingIds, true);
+
+        // expect
+        assertThat(result, hasSize(3));
+        assertThat(result.get(0).getStatus(), equalTo(BookingStatusType.APPROVED));
+        assertThat(result.get(1).getError(), equalTo("Вещь уже забронирована на пересекающийся период. " +
+                "Бронирование ID 2"));
+        assertThat(result.get(2).getError(), equalTo("Бронирование не найдено по ID 3"));
+        InOrder lockThenRead = inOrder(itemStorage, bookingStorage);
+        lockThenRead.verify(itemStorage)
+                .lockAllByIdIn(List.of(first.getItem().getId()));
+        lockThenRead.verify(bookingStorage)
+                .findAllWithItemByIdIn(Set.of(1L, 2L, 3L));
+        verify(bookingStorage, times(1))
+                .updateStatusByIdIn(List.of(1L), BookingStatusType.APPROVED);
+    }
+
+    @Test
+    void testOwnerChangeStatuses_ShouldReturnError_WhenBookingChangedConcurrently() {
+        // given
+        Long userId = 2L;
+        Booking booking = makeDefaultBooking();
+
+        when(bookingStorage.findAllWithItemByIdIn(Set.of(booking.getId())))
+                .thenReturn(List.of(booking));
+        when(bookingStorage.updateStatusByIdIn(List.of(booking.getId()), BookingStatusType.REJECTED))
+                .thenReturn(0);
+
+        // expect
+        Assertions.assertThrows(OptimisticLockingFailureException.class,
+                () -> bookingService.ownerChangeStatuses(userId, List.of(booking.getId()), false));
+        verify(bookingStorage, never())
+                .findApprovedByItemIdInOverlapping(anyCollection(), isA(LocalDateTime.class),
+                        isA(LocalDateTime.class));
+    }
+
+    @Test
+    void testOwnerChangeStatuses_ShouldReturnConflict_WhenDatabaseRejectsOverlap() {
+        // given
+        Long userId = 2L;
+        Booking booking = makeDefaultBooking();
+
+        when(bookingStorage.findAllWithItemByIdIn(Set.of(booking.getId())))
+                .thenReturn(List.of(booking));
+        when(bookingStorage.updateStatusByIdIn(List.of(booking.getId()), BookingStatusType.APPROVED))
+                .thenThrow(new DataIntegrityViolationException("ex_bookings_approved_overlap"));
+
+        // do
+        BookingConflictException exception = Assertions.assertThrows(BookingConflictException.class,
+                () -> bookingService.ownerChangeStatuses(userId, List.of(booking.getId()), true));
+
+        // expect
+        assertThat(exception.getMessage(), equalTo("Вещь уже забронирована на пересекающийся период. " +
+                "Бронирования ID [" + booking.getId() + "]"));
+    }
+
     @Test
     void testGetBookingById_ShouldReturnError_WhenBookingIsNull() {
         // given
@@ -437,7 +565,7 @@ class BookingServiceImplTest {
         Booking booking = makeDefaultBooking();
 
         when(bookingStorage.findAllOwnerItemBookings(userId, page))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -465,7 +593,7 @@ class BookingServiceImplTest {
         Booking booking = makeDefaultBooking();
 
         when(bookingStorage.findAllOwnerCurrentBookings(anyLong(), isA(LocalDateTime.class), isA(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -494,7 +622,7 @@ class BookingServiceImplTest {
         booking.setEnd(LocalDateTime.now().minusHours(5));
 
         when(bookingStorage.findAllPastOwnerItemBookings(anyLong(), isA(LocalDateTime.class), isA(PageRequest.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -524,7 +652,7 @@ class BookingServiceImplTest {
         booking.setStart(LocalDateTime.now().plusHours(5));
 
         when(bookingStorage.findAllFutureOwnerItemBookings(anyLong(), isA(LocalDateTime.class), isA(PageRequest.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -554,7 +682,7 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatusType.WAITING);
 
         when(bookingStorage.findAllOwnerItemBookedByStatus(userId, BookingStatusType.WAITING, PageRequest.of(0, 1)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -584,7 +712,7 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatusType.REJECTED);
 
         when(bookingStorage.findAllOwnerItemBookedByStatus(userId, BookingStatusType.REJECTED, PageRequest.of(0, 1)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -632,7 +760,7 @@ class BookingServiceImplTest {
         Booking booking = makeDefaultBooking();
 
         when(bookingStorage.findAllByBookerId(userId, page))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -660,7 +788,7 @@ class BookingServiceImplTest {
         booking.setEnd(LocalDateTime.now().minusHours(5));
 
         when(bookingStorage.findAllPastBookings(anyLong(), isA(LocalDateTime.class), isA(PageRequest.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -688,7 +816,7 @@ class BookingServiceImplTest {
         Booking booking = makeDefaultBooking();
 
         when(bookingStorage.findAllCurrentBookings(anyLong(), isA(LocalDateTime.class), isA(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -717,7 +845,7 @@ class BookingServiceImplTest {
         booking.setStart(LocalDateTime.now().plusHours(5));
 
         when(bookingStorage.findAllFutureBookings(anyLong(), isA(PageRequest.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -746,7 +874,7 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatusType.WAITING);
 
         when(bookingStorage.findAllByBookerAndStatus(userId, BookingStatusType.WAITING, PageRequest.of(0, 1)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -775,7 +903,7 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatusType.REJECTED);
 
         when(bookingStorage.findAllByBookerAndStatus(userId, BookingStatusType.REJECTED, PageRequest.of(0, 1)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(toRow(booking)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
         // do
@@ -793,4 +921,60 @@ class BookingServiceImplTest {
         assertThat(result, equalTo(expect));
         assertThat(booking.getStatus(), equalTo(BookingStatusType.REJECTED));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetBookingByUserId_ShouldReturnPageWithNextCursor_WhenMoreBookingsExist() {
+        // given
+        Long userId = 1L;
+        Booking first = makeDefaultBooking();
+        Booking second = makeDefaultBooking();
+        second.setId(2L);
+
+        when(userStorage.existsById(userId))
+                .thenReturn(true);
+        when(bookingStorage.findBookerBookingsAfter(eq(userId), eq(BookingState.ALL), isA(LocalDateTime.class),
+                isNull(), eq(2)))
+                .thenReturn(List.of(toRow(first), toRow(second)));
+
+        // do
+        BookingPageDto result = bookingService.getBookingByUserId(userId, "all", "", 1);
+
+        // expect
+        assertThat(result.getBookings(), equalTo(List.of(BookingMapper.bookingToBookingDto(first))));
+        assertThat(result.getNextCursor(), equalTo(BookingCursor.of(toRow(first)).encode()));
+        assertThat(BookingCursor.decode(result.getNextCursor()), equalTo(BookingCursor.of(toRow(first))));
+    }
+
+    @Test
+    void testGetOwnerBookings_ShouldReturnLastPageWithoutCursor_WhenNoMoreBookings() {
+        // given
+        Long userId = 2L;
+        Booking booking = makeDefaultBooking();
+        BookingCursor cursor = new BookingCursor(booking.getStart().plusDays(1), 10L);
+
+        when(userStorage.existsById(userId))
+                .thenReturn(true);
+        when(bookingStorage.findOwnerBookingsAfter(eq(userId), eq(BookingState.WAITING), isA(LocalDateTime.class),
+                eq(cursor), eq(3)))
+                .thenReturn(List.of(toRow(booking)));
+
+        // do
+        BookingPageDto result = bookingService.getOwnerBookings(userId, "WAITING", cursor.encode(), 2);
+
+        // expect
+        assertThat(result.getBookings(), hasSize(1));
+        assertThat(result.getNextCursor(), nullValue());
+    }
+
+    @Test
+    void testGetOwnerBookings_ShouldReturnError_WhenCursorIsMalformed() {
+        // given
+        when(userStorage.existsById(anyLong()))
+                .thenReturn(true);
+
+        // expect
+        Assertions.assertThrows(CursorException.class,
+                () -> bookingService.getOwnerBookings(1L, "ALL", "not-a-cursor", 2));
+        verifyNoInteractions(bookingStorage);
+    }
+}
@@ -12,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import ru.practicum.shareit.exceptions.ItemRequestNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequestService;
@@ -22,12 +23,14 @@ import ru.practicum.shareit.request.dto.ItemRequestWithAnswerDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @ExtendWith(MockitoExtension.class)
 class ItemRequestServiceImplTest {
@@ -41,7 +44,14 @@ class ItemRequestServiceImplTest {
 
     @BeforeEach
     private void setUp() {
-        this.itemRequestService = new ItemRequestServiceImpl(userStorage, itemRequestStorage, itemStorage);
+        this.itemRequestService = new ItemRequestServiceImpl(new UserIdRegistry(userStorage), itemRequestStorage,
+                itemStorage);
+    }
+
+    private ItemRequestWithAnswerDto withAnswers(final ItemRequest request, final List<Item> items) {
+        return ItemRequestMapper.itemRequestAndAnswersToItemRequestWithAnswerDto(request, items.stream()
+                .map(ItemMapper::itemToItemForRequestDto)
+                .collect(Collectors.toList()));
     }
 
     @Test
@@ -123,16 +133,15 @@ class ItemRequestServiceImplTest {
 
         when(itemRequestStorage.findAllByRequestorIdOrderByCreatedAsc(anyLong()))
                 .thenReturn(List.of(request));
-        when(itemStorage.findAllByRequestIdIn(anyList()))
-                .thenReturn(List.of(item));
+        when(itemStorage.findRequestAnswersByRequestIdIn(anyCollection()))
+                .thenReturn(List.of(ItemMapper.itemToItemForRequestDto(item)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
 
         // do
         List<ItemRequestWithAnswerDto> result = itemRequestService.getOwnUserItemRequests(anyLong());
         List<ItemRequestWithAnswerDto> expect = List.of(
-                ItemRequestMapper
-                        .itemRequestToItemRequestWithAnswerDto(request, List.of(item)));
+                withAnswers(request, List.of(item)));
 
         // expect
         assertThat(expect, equalTo(result));
@@ -141,10 +150,65 @@ class ItemRequestServiceImplTest {
         verify(userStorage, times(1))
                 .existsById(anyLong());
         verify(itemStorage, times(1))
-                .findAllByRequestIdIn(anyList());
+                .findRequestAnswersByRequestIdIn(anyCollection());
         verifyNoMoreInteractions(userStorage, itemRequestStorage, itemStorage);
     }
 
+    @Test
+    void testGetOwnUserItemRequests_ShouldGroupAllAnswers_WhenRequestHasSeveralAnswers() {
+        // given
+        ItemRequest request = ItemRequest.builder()
+                .id(1L)
+                .description("Test Desc")
+                .created(LocalDateTime.now())
+                .requestorId(1L)
+                .build();
+
+        ItemRequest request2 = ItemRequest.builder()
+                .id(2L)
+                .description("Test Desc 2")
+                .created(LocalDateTime.now())
+                .requestorId(1L)
+                .build();
+
+        Item item = Item.builder()
+                .id(1L)
+                .owner(2L)
+                .available(true)
+                .description("Test item desc")
+                .name("Test item name")
+                .request(request)
+                .build();
+
+        Item item2 = Item.builder()
+                .id(2L)
+                .owner(3L)
+                .available(true)
+                .description("Test item2 desc")
+                .name("Test item2 name")
+                .request(request)
+                .build();
+
+        when(itemRequestStorage.findAllByRequestorIdOrderByCreatedAsc(anyLong()))
+                .thenReturn(List.of(request, request2));
+        when(itemStorage.findRequestAnswersByRequestIdIn(anyCollection()))
+                .thenReturn(List.of(ItemMapper.itemToItemForRequestDto(item),
+                        ItemMapper.itemToItemForRequestDto(item2)));
+        when(userStorage.existsById(anyLong()))
+                .thenReturn(true);
+
+        // do
+        List<ItemRequestWithAnswerDto> result = itemRequestService.getOwnUserItemRequests(1L);
+        List<ItemRequestWithAnswerDto> expect = List.of(
+                withAnswers(request, List.of(item, item2)),
+                withAnswers(request2, List.of()));
+
+        // expect
+        assertThat(result, equalTo(expect));
+        verify(itemStorage, times(1))
+                .findRequestAnswersByRequestIdIn(anyCollection());
+    }
+
     @Test
     void testGetOwnUserItemRequests_ShouldThrowUserNotFoundException_WhenUserNotExists() {
         // given
@@ -190,8 +254,8 @@ class ItemRequestServiceImplTest {
 
         when(itemRequestStorage.findAllByRequestorIdNot(anyLong(), isA(PageRequest.class)))
                 .thenReturn(requests);
-        when(itemStorage.findAllByRequestIdIn(anyList()))
-                .thenReturn(List.of(item));
+        when(itemStorage.findRequestAnswersByRequestIdIn(anyCollection()))
+                .thenReturn(List.of(ItemMapper.itemToItemForRequestDto(item)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
 
@@ -199,8 +263,7 @@ class ItemRequestServiceImplTest {
         List<ItemRequestWithAnswerDto> result = itemRequestService.getUsersItemRequests(userId,
                 PageRequest.of(0, 1, Sort.unsorted()));
         List<ItemRequestWithAnswerDto> expect = List.of(
-                ItemRequestMapper
-                        .itemRequestToItemRequestWithAnswerDto(request, List.of(item)));
+                withAnswers(request, List.of(item)));
 
         // expect
         assertThat(expect, equalTo(result));
@@ -210,7 +273,7 @@ class ItemRequestServiceImplTest {
         verify(userStorage, times(1))
                 .existsById(anyLong());
         verify(itemStorage, times(1))
-                .findAllByRequestIdIn(anyList());
+                .findRequestAnswersByRequestIdIn(anyCollection());
         verifyNoMoreInteractions(userStorage, itemRequestStorage, itemStorage);
     }
 
@@ -256,14 +319,14 @@ class ItemRequestServiceImplTest {
 
         when(itemRequestStorage.findById(anyLong()))
                 .thenReturn(Optional.of(request));
-        when(itemStorage.findAllByRequestIdIn(anyList()))
-                .thenReturn(List.of(item));
+        when(itemStorage.findRequestAnswersByRequestIdIn(anyCollection()))
+                .thenReturn(List.of(ItemMapper.itemToItemForRequestDto(item)));
         when(userStorage.existsById(anyLong()))
                 .thenReturn(true);
 
         // do
         ItemRequestWithAnswerDto result = itemRequestService.getRequestById(userId, request.getId());
-        ItemRequestWithAnswerDto expect = ItemRequestMapper.itemRequestToItemRequestWithAnswerDto(request, List.of(item));
+        ItemRequestWithAnswerDto expect = withAnswers(request, List.of(item));
 
         // expect
         assertThat(expect, equalTo(result));
@@ -272,7 +335,7 @@ class ItemRequestServiceImplTest {
         verify(userStorage, times(1))
                 .existsById(anyLong());
         verify(itemStorage, times(1))
-                .findAllByRequestIdIn(anyList());
+                .findRequestAnswersByRequestIdIn(anyCollection());
         verifyNoMoreInteractions(userStorage, itemRequestStorage, itemStorage);
     }
 
@@ -0,0 +1,220 @@
+package ru.practicum.shareit.test.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.FullTextItemSearchEngine;
+import ru.practicum.shareit.item.search.InProcessItemSearchEngine;
+import ru.practicum.shareit.item.search.IndexedItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchTokenizer;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchEngineTest {
+
+    private static final PageRequest CANDIDATES_PAGE = PageRequest.of(0, InProcessItemSearchEngine.MAX_CANDIDATES,
+            Sort.by("id"));
+
+    @Mock
+    private ItemRepository itemStorage;
+
+    private Item makeItem(Long id, String name, String description) {
+        return Item.builder()
+                .id(id)
+                .owner(1L)
+                .name(name)
+                .description(description)
+                .available(true)
+                .build();
+    }
+
+    @Test
+    void testTokenize_ShouldReturnLowerCaseDistinctWords_WhenTextContainsPunctuation() {
+        // do
+        List<String> result = ItemSearchTokenizer.tokenize("Дрель, аккумуляторная ДРЕЛЬ!");
+
+        // expect
+        assertThat(result, equalTo(List.of("дрель", "аккумуляторная")));
+    }
+
+    @Test
+    void testFullTextSearch_ShouldBuildPrefixTsQuery_WhenTextHasSeveralWords() {
+        // given
+        FullTextItemSearchEngine engine = new FullTextItemSearchEngine(itemStorage);
+        Item item = makeItem(1L, "Дрель", "Аккумуляторная дрель");
+
+        when(itemStorage.findAvailableItemsByTsQuery("дрель:* & аккум:*", PageRequest.of(0, 10)))
+                .thenReturn(List.of(item));
+
+        // do
+        List<Item> result = engine.findAvailableItems("Дрель аккум", PageRequest.of(0, 10));
+
+        // expect
+        verify(itemStorage, times(1))
+                .findAvailableItemsByTsQuery(anyString(), isA(Pageable.class));
+        verifyNoMoreInteractions(itemStorage);
+        assertThat(result, equalTo(List.of(item)));
+    }
+
+    @Test
+    void testFullTextSearch_ShouldReturnEmptyList_WhenTextHasNoWords() {
+        // given
+        FullTextItemSearchEngine engine = new FullTextItemSearchEngine(itemStorage);
+
+        // do
+        List<Item> result = engine.findAvailableItems(" ,. ", PageRequest.of(0, 10));
+
+        // expect
+        verifyNoInteractions(itemStorage);
+        assertThat(result, empty());
+    }
+
+    @Test
+    void testInProcessSearch_ShouldRankNameMatchesFirstAndApplyPaging_WhenCandidatesFound() {
+        // given
+        InProcessItemSearchEngine engine = new InProcessItemSearchEngine(itemStorage);
+        Item descriptionMatch = makeItem(1L, "Шуруповерт", "Работает как дрель");
+        Item nameMatch = makeItem(2L, "Дрель", "Ударная");
+        Item substringOnly = makeItem(3L, "Мидрельный станок", "Без совпадений");
+
+        when(itemStorage.findAvailableItemsByText("дрель", CANDIDATES_PAGE))
+                .thenReturn(List.of(descriptionMatch, nameMatch, substringOnly));
+
+        // do
+        List<Item> firstPage = engine.findAvailableItems("ДРЕЛЬ", PageRequest.of(0, 1));
+        List<Item> secondPage = engine.findAvailableItems("ДРЕЛЬ", PageRequest.of(1, 1));
+
+        // expect
+        assertThat(firstPage, equalTo(List.of(nameMatch)));
+        assertThat(secondPage, equalTo(List.of(descriptionMatch)));
+    }
+
+    @Test
+    void testInProcessSearch_ShouldRequireEveryWordAsWordPrefix_WhenTextHasSeveralWords() {
+        // given
+        InProcessItemSearchEngine engine = new InProcessItemSearchEngine(itemStorage);
+        Item bothWords = makeItem(1L, "Дрель аккумуляторная", "Ударная");
+        Item oneWord = makeItem(2L, "Дрель", "Сетевая");
+        Item insideWord = makeItem(3L, "Электродрель", "Аккумуляторная");
+
+        when(itemStorage.findAvailableItemsByText("дрель", CANDIDATES_PAGE))
+                .thenReturn(List.of(bothWords, oneWord, insideWord));
+
+        // do
+        List<Item> result = engine.findAvailableItems("аккум дрель", PageRequest.of(0, 10));
+
+        // expect
+        verify(itemStorage, times(1))
+                .findAvailableItemsByText("дрель", CANDIDATES_PAGE);
+        verifyNoMoreInteractions(itemStorage);
+        assertThat(result, equalTo(List.of(bothWords)));
+    }
+
+    @Test
+    void testSearchIndex_ShouldFollowItemUpdatesAndRemovals_WhenItemsChange() {
+        // given
+        ItemSearchIndex index = new ItemSearchIndex();
+        Item drill = makeItem(1L, "Дрель", "Ударная дрель");
+        Item saw = makeItem(2L, "Пила", "Для дрелей не подходит");
+        index.put(drill);
+        index.put(saw);
+
+        // expect
+        assertThat(index.search(List.of("дрел"), 0, 10), equalTo(List.of(1L, 2L)));
+
+        // do
+        drill.setAvailable(false);
+        index.put(drill);
+        saw.setDescription("Ножовка");
+        index.put(saw);
+
+        // expect
+        assertThat(index.search(List.of("дрел"), 0, 10), empty());
+        assertThat(index.search(List.of("нож"), 0, 10), equalTo(List.of(2L)));
+
+        // do
+        index.remove(2L);
+
+        // expect
+        assertThat(index.search(List.of("нож"), 0, 10), empty());
+        assertThat(index.stats().getItems(), equalTo(1L));
+        assertThat(index.stats().getTokens(), equalTo(2L));
+    }
+
+    @Test
+    void testIndexedSearch_ShouldHydrateOnlyRequestedPage_WhenIndexBuilt() {
+        // given
+        IndexedItemSearchEngine engine = new IndexedItemSearchEngine(itemStorage);
+        Item first = makeItem(1L, "Дрель", "Ударная");
+        Item second = makeItem(2L, "Шуруповерт", "Почти дрель");
+
+        when(itemStorage.findAll(isA(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(first, second)));
+        when(itemStorage.findAllById(List.of(2L)))
+                .thenReturn(List.of(second));
+        engine.rebuild();
+
+        // do
+        List<Item> result = engine.findAvailableItems("дрель", PageRequest.of(1, 1));
+
+        // expect
+        verify(itemStorage, times(1))
+                .findAllById(List.of(2L));
+        assertThat(result, equalTo(List.of(second)));
+    }
+
+    @Test
+    void testIndexedSearch_ShouldApplyChangesOnlyAfterCommit_WhenTransactionActive() {
+        // given
+        IndexedItemSearchEngine engine = new IndexedItemSearchEngine(itemStorage);
+        Item drill = makeItem(1L, "Дрель", "Ударная");
+
+        when(itemStorage.findAll(isA(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(drill)));
+        engine.rebuild();
+
+        // do
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.itemRemoved(1L);
+            engine.itemSaved(makeItem(2L, "Пила", "Ножовка"));
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // expect
+        assertThat(engine.stats().getItems(), equalTo(1L));
+
+        // do
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.itemRemoved(1L);
+            assertThat(engine.stats().getItems(), equalTo(1L));
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // expect
+        assertThat(engine.stats().getItems(), equalTo(0L));
+    }
+}
@@ -20,13 +20,18 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.hamcrest.Matchers.*;
@@ -44,12 +49,15 @@ class ItemServiceImplTest {
     private BookingRepository bookingStorage;
     @Mock
     private CommentRepository commentStorage;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
 
     private ItemService itemService;
 
     @BeforeEach
     void setUp() {
-        this.itemService = new ItemServiceImpl(itemStorage, userStorage, bookingStorage, commentStorage);
+        this.itemService = new ItemServiceImpl(itemStorage, new UserIdRegistry(userStorage), bookingStorage, commentStorage,
+                itemSearchEngine);
     }
 
     private User makeDefaultUser() {
@@ -121,11 +129,11 @@ class ItemServiceImplTest {
 
         when(itemStorage.findByOwner(anyLong(), isA(PageRequest.class)))
                 .thenReturn(List.of(item));
-        when(bookingStorage.findLastBooking(anyLong(), isA(LocalDateTime.class)))
-                .thenReturn(List.of(lastBooking));
-        when(bookingStorage.findNextBooking(anyLong(), isA(LocalDateTime.class)))
-                .thenReturn(List.of(nextBooking));
-        when(commentStorage.findByItemId(anyLong()))
+        when(bookingStorage.findLastBookings(anyList(), isA(LocalDateTime.class)))
+                .thenReturn(Map.of(item.getId(), lastBooking));
+        when(bookingStorage.findNextBookings(anyList(), isA(LocalDateTime.class)))
+                .thenReturn(Map.of(item.getId(), nextBooking));
+        when(commentStorage.findAllByItemIdIn(anyList()))
                 .thenReturn(List.of(comment));
 
         // do
@@ -137,15 +145,31 @@ class ItemServiceImplTest {
         verify(itemStorage, times(1))
                 .findByOwner(anyLong(), isA(PageRequest.class));
         verify(bookingStorage, times(1))
-                .findNextBooking(anyLong(), isA(LocalDateTime.class));
+                .findNextBookings(anyList(), isA(LocalDateTime.class));
         verify(bookingStorage, times(1))
-                .findLastBooking(anyLong(), isA(LocalDateTime.class));
+                .findLastBookings(anyList(), isA(LocalDateTime.class));
         verify(commentStorage, times(1))
-                .findByItemId(anyLong());
+                .findAllByItemIdIn(anyList());
         verifyNoMoreInteractions(itemStorage, bookingStorage, commentStorage);
         assertThat(result.get(0), equalTo(expect));
     }
 
+    @Test
+    void testGetOwnerItemsWithBookings_ShouldReturnEmptyListWithoutBookingQueries_WhenOwnerHasNoItems() {
+        // given
+        when(itemStorage.findByOwner(anyLong(), isA(PageRequest.class)))
+                .thenReturn(Collections.emptyList());
+
+        // do
+        List<ItemWithBookingDto> result = itemService.getOwnerItemsWithBookings(1L, PageRequest.of(0, 2));
+
+        // expect
+        verify(itemStorage, times(1))
+                .findByOwner(anyLong(), isA(PageRequest.class));
+        verifyNoInteractions(bookingStorage, commentStorage);
+        assertThat(result, empty());
+    }
+
     @Test
     void testGetItemByIdWithBooking_ShouldReturnItemWithBookingsByItemId_WhenItemExists() {
         // given
@@ -297,7 +321,7 @@ class ItemServiceImplTest {
         Item item = makeDefaultItem();
         String regEx = "ITEM TEST NAME";
 
-        when(itemStorage.findAvailableItemsByText(regEx, PageRequest.of(0, 1)))
+        when(itemSearchEngine.findAvailableItems(regEx, PageRequest.of(0, 1)))
                 .thenReturn(List.of(item));
 
         // do
@@ -305,9 +329,10 @@ class ItemServiceImplTest {
         List<ItemDto> expect = List.of(ItemMapper.itemToItemDto(item));
 
         // expect
-        verify(itemStorage, times(1))
-                .findAvailableItemsByText(anyString(), isA(PageRequest.class));
-        verifyNoMoreInteractions(itemStorage);
+        verify(itemSearchEngine, times(1))
+                .findAvailableItems(anyString(), isA(PageRequest.class));
+        verifyNoMoreInteractions(itemSearchEngine);
+        verifyNoInteractions(itemStorage);
         assertThat(result, equalTo(expect));
     }
 
@@ -377,6 +402,77 @@ class ItemServiceImplTest {
         assertThat(result, equalTo(expect));
     }
 
+    @Test
+    void testImportItems_ShouldSaveValidRowsAndReportRejected_WhenRowsContainErrors() {
+        // given
+        Long userId = 2L;
+        Item existing = makeDefaultItem();
+        ItemRegisterDto valid = ItemRegisterDto.builder()
+                .name("NEW ITEM")
+                .description("NEW ITEM DESCRIPTION")
+                .available(true)
+                .requestId(5L)
+                .build();
+        ItemRegisterDto duplicateOfExisting = ItemRegisterDto.builder()
+                .name(existing.getName())
+                .description(existing.getDescription())
+                .available(existing.getAvailable())
+                .build();
+        ItemRegisterDto withoutName = ItemRegisterDto.builder()
+                .description("NO NAME DESCRIPTION")
+                .available(true)
+                .build();
+        ItemRegisterDto unknownRequest = ItemRegisterDto.builder()
+                .name("REQUESTED ITEM")
+                .description("REQUESTED ITEM DESCRIPTION")
+                .available(false)
+                .requestId(6L)
+                .build();
+        List<ItemRegisterDto> rows = Arrays.asList(valid, duplicateOfExisting, withoutName, unknownRequest, valid,
+                null);
+
+        when(userStorage.existsById(userId))
+                .thenReturn(true);
+        when(itemStorage.findExistingRequestIds(Set.of(5L, 6L)))
+                .thenReturn(List.of(5L));
+        when(itemStorage.findAllByOwnerAndNameIn(eq(userId), anyCollection()))
+                .thenReturn(List.of(existing));
+        when(itemStorage.saveItems(anyList(), anyList()))
+                .thenAnswer(invocation -> {
+                    List<Item> items = invocation.getArgument(0);
+                    items.forEach(item -> item.setId(100L));
+                    return items;
+                });
+
+        // do
+        List<ItemImportResultDto> result = itemService.importItems(userId, rows);
+
+        // expect
+        assertThat(result, hasSize(6));
+        assertThat(result.get(0), equalTo(new ItemImportResultDto(1, 100L, null)));
+        assertThat(result.get(1).getError(), equalTo("Вещь уже существует"));
+        assertThat(result.get(2).getError(), equalTo("Не указано название"));
+        assertThat(result.get(3).getError(), equalTo("Запрос не найден по ID 6"));
+        assertThat(result.get(4).getError(), equalTo("Вещь уже существует"));
+        assertThat(result.get(5).getError(), equalTo("Пустая строка импорта"));
+        verify(itemStorage, times(1))
+                .saveItems(argThat(items -> items.size() == 1 && items.get(0).getOwner().equals(userId)),
+                        eq(List.of(5L)));
+        verify(itemSearchEngine, times(1))
+                .itemSaved(isA(Item.class));
+    }
+
+    @Test
+    void testImportItems_ShouldReturnError_WhenUserNotExists() {
+        // given
+        when(userStorage.existsById(anyLong()))
+                .thenReturn(false);
+
+        // expect
+        assertThrows(UserNotFoundException.class, () -> itemService.importItems(1L, List.of()));
+        verifyNoInteractions(itemStorage);
+    }
+
     @Test
     void testAddNewItem_ShouldReturnError_WhenUserNotExists() {
         // given
@@ -660,8 +756,29 @@ class ItemServiceImplTest {
 
         // expect
         verify(itemStorage, times(1))
-                .removeByIdAndOwner(userId, itemId);
+                .removeByIdAndOwner(itemId, userId);
         verifyNoMoreInteractions(itemStorage);
+        verifyNoInteractions(itemSearchEngine);
+    }
+
+    @Test
+    void testDeleteItem_ShouldRemoveItemFromSearch_WhenItemDeleted() {
+        // given
+        Long itemId = 1L;
+        Long userId = 2L;
+
+        when(itemStorage.removeByIdAndOwner(itemId, userId))
+                .thenReturn(1L);
+
+        // do
+        itemService.deleteItem(userId, itemId);
+
+        // expect
+        verify(itemStorage, times(1))
+                .removeByIdAndOwner(itemId, userId);
+        verify(itemSearchEngine, times(1))
+                .itemRemoved(itemId);
+        verifyNoMoreInteractions(itemStorage, itemSearchEngine);
     }
 
     @Test
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.test.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import ru.practicum.shareit.concurrent.OptimisticLockRetry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class OptimisticLockRetryTest {
+
+    @Test
+    void testExecute_ShouldReturnResult_WhenConflictResolvedOnRetry() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // do
+        String result = OptimisticLockRetry.execute("test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return "saved";
+        });
+
+        // expect
+        assertThat(result, equalTo("saved"));
+        assertThat(attempts.get(), equalTo(3));
+    }
+
+    @Test
+    void testExecute_ShouldRethrowConflict_WhenAttemptsExhausted() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // expect
+        Assertions.assertThrows(OptimisticLockingFailureException.class,
+                () -> OptimisticLockRetry.execute("test", 2, () -> {
+                    attempts.incrementAndGet();
+                    throw new OptimisticLockingFailureException("conflict");
+                }));
+        assertThat(attempts.get(), equalTo(2));
+    }
+
+    @Test
+    void testExecute_ShouldNotRetry_WhenOtherExceptionThrown() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // expect
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> OptimisticLockRetry.execute("test", () -> {
+                    attempts.incrementAndGet();
+                    throw new IllegalStateException("failed");
+                }));
+        assertThat(attempts.get(), equalTo(1));
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.test.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import ru.practicum.shareit.http.RequestOriginInterceptor;
+import ru.practicum.shareit.logging.LogSummary;
+import ru.practicum.shareit.logging.PayloadLog;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PayloadLogTest {
+
+    @AfterEach
+    void tearDown() {
+        PayloadLog.configure(0, Set.of());
+        MDC.remove(RequestOriginInterceptor.USER_ID_KEY);
+    }
+
+    @Test
+    void testLogSummary_ShouldListFirstIds_WhenCollectionIsLarge() {
+        // given
+        List<Long> ids = LongStream.rangeClosed(1, 25).boxed().collect(Collectors.toList());
+
+        // expect
+        assertThat(LogSummary.of(ids, Function.identity()).toString(),
+                equalTo("25 шт., ID [1, 2, 3, 4, 5, 6, 7, 8, 9, 10, ...]"));
+        assertThat(LogSummary.of(List.of(3L, 7L), Function.identity()).toString(), equalTo("2 шт., ID [3, 7]"));
+        assertThat(LogSummary.of(List.<Long>of(), Function.identity()).toString(), equalTo("0 шт., ID []"));
+    }
+
+    @Test
+    void testIsSampled_ShouldSampleOnlyListedUsers_WhenPercentIsZero() {
+        // given
+        PayloadLog.configure(0, Set.of(1L));
+
+        // expect
+        MDC.put(RequestOriginInterceptor.USER_ID_KEY, "1");
+        assertThat(PayloadLog.isSampled(), equalTo(true));
+        MDC.put(RequestOriginInterceptor.USER_ID_KEY, "2");
+        assertThat(PayloadLog.isSampled(), equalTo(false));
+        MDC.remove(RequestOriginInterceptor.USER_ID_KEY);
+        assertThat(PayloadLog.isSampled(), equalTo(false));
+    }
+
+    @Test
+    void testIsSampled_ShouldSampleEveryRequest_WhenPercentIsHundred() {
+        // given
+        PayloadLog.configure(100, Set.of());
+        MDC.put(RequestOriginInterceptor.USER_ID_KEY, "not-a-number");
+
+        // expect
+        assertThat(PayloadLog.isSampled(), equalTo(true));
+    }
+
+    @Test
+    void testConfigure_ShouldThrowException_WhenPercentOutOfRange() {
+        // expect
+        assertThrows(IllegalArgumentException.class, () -> PayloadLog.configure(150, Set.of()));
+        assertThat(PayloadLog.sampling().getPercent(), equalTo(0.0));
+    }
+}
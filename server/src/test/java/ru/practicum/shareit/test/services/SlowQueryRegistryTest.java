@@ -0,0 +1,75 @@
+package ru.practicum.shareit.test.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.sql.QueryShapeStats;
+import ru.practicum.shareit.sql.SlowQueryProperties;
+import ru.practicum.shareit.sql.SlowQueryRegistry;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+class SlowQueryRegistryTest {
+    private SlowQueryProperties properties;
+    private SlowQueryRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SlowQueryProperties();
+        registry = new SlowQueryRegistry(properties);
+    }
+
+    @Test
+    void testRecord_ShouldGroupQueriesByShape_WhenOnlyParametersDiffer() {
+        // do
+        registry.record("select * from items i where i.id in (?, ?, ?)", 5, "ItemController.getItemById");
+        registry.record("select *\n  from items i where i.id in (?)", 40, "ItemController.getOwnerItems");
+        registry.record("select * from items i where i.name = 'drill' and i.owner_id = 15", 7, null);
+
+        // expect
+        List<QueryShapeStats> result = registry.slowest(10);
+        assertThat(result, hasSize(2));
+        assertThat(result.get(0).getShape(), equalTo("select * from items i where i.id in (?...)"));
+        assertThat(result.get(0).getExecutions(), equalTo(2L));
+        assertThat(result.get(0).getTotalMillis(), equalTo(45L));
+        assertThat(result.get(0).getMaxMillis(), equalTo(40L));
+        assertThat(result.get(0).getSlowestEndpoint(), equalTo("ItemController.getOwnerItems"));
+        assertThat(result.get(1).getShape(), equalTo("select * from items i where i.name = ? and i.owner_id = ?"));
+    }
+
+    @Test
+    void testRecord_ShouldSkipNewShapes_WhenShapeLimitReached() {
+        // given
+        properties.setMaxShapes(1);
+
+        // do
+        registry.record("select * from users", 1, null);
+        registry.record("select * from items", 100, null);
+        registry.record("select * from users", 3, null);
+
+        // expect
+        List<QueryShapeStats> result = registry.slowest(10);
+        assertThat(result, hasSize(1));
+        assertThat(result.get(0).getExecutions(), equalTo(2L));
+        assertThat(registry.skippedShapes(), equalTo(1L));
+    }
+
+    @Test
+    void testSlowest_ShouldReturnLimitedTopByMaxTime() {
+        // given
+        registry.record("select * from users", 10, null);
+        registry.record("select * from items", 30, null);
+        registry.record("select * from bookings", 20, null);
+
+        // do
+        List<QueryShapeStats> result = registry.slowest(2);
+
+        // expect
+        assertThat(result, hasSize(2));
+        assertThat(result.get(0).getShape(), equalTo("select * from items"));
+        assertThat(result.get(1).getShape(), equalTo("select * from bookings"));
+    }
+}
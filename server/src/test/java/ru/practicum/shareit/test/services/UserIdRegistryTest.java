@@ -0,0 +1,127 @@
+package ru.practicum.shareit.test.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.user.UserIdRegistry;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+    private UserIdRegistry userIds;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findAllIds())
+                .thenReturn(List.of(1L, 2L, 5L));
+
+        userIds = new UserIdRegistry(userRepository);
+        userIds.load();
+    }
+
+    @Test
+    void testExists_ShouldNotQueryRepository_WhenIdLoaded() {
+        // do
+        boolean result = userIds.exists(5L);
+
+        // expect
+        assertThat(result, equalTo(true));
+        verify(userRepository, never())
+                .existsById(anyLong());
+    }
+
+    @Test
+    void testExists_ShouldCheckRepositoryOnce_WhenIdUnknownButUserExists() {
+        // given
+        when(userRepository.existsById(3L))
+                .thenReturn(true);
+
+        // do
+        boolean first = userIds.exists(3L);
+        boolean second = userIds.exists(3L);
+
+        // expect
+        assertThat(first, equalTo(true));
+        assertThat(second, equalTo(true));
+        verify(userRepository, times(1))
+                .existsById(3L);
+    }
+
+    @Test
+    void testExists_ShouldReturnFalse_WhenUserRemoved() {
+        // given
+        when(userRepository.existsById(2L))
+                .thenReturn(false);
+
+        // do
+        userIds.userRemoved(2L);
+        boolean result = userIds.exists(2L);
+
+        // expect
+        assertThat(result, equalTo(false));
+        verify(userRepository, times(1))
+                .existsById(2L);
+    }
+
+    @Test
+    void testExists_ShouldKeepId_UntilRemovalCommitted() {
+        // given
+        when(userRepository.existsById(2L))
+                .thenReturn(false);
+
+        // do
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userIds.userRemoved(2L);
+            assertThat(userIds.exists(2L), equalTo(true));
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // expect
+        assertThat(userIds.exists(2L), equalTo(true));
+
+        // do
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userIds.userRemoved(2L);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // expect
+        assertThat(userIds.exists(2L), equalTo(false));
+        verify(userRepository, times(1))
+                .existsById(2L);
+    }
+
+    @Test
+    void testExists_ShouldNotQueryRepository_WhenUserSavedOutsideTransaction() {
+        // do
+        userIds.userSaved(7L);
+        boolean result = userIds.exists(7L);
+
+        // expect
+        assertThat(result, equalTo(true));
+        verify(userRepository, never())
+                .existsById(anyLong());
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Example;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.UserServiceImpl;
@@ -31,11 +32,13 @@ class UserServiceImplTest {
 
     @Mock
     private UserRepository userRepository;
+    private UserIdRegistry userIds;
     private UserService userService;
 
     @BeforeEach
     private void setUp() {
-        this.userService = new UserServiceImpl(userRepository);
+        this.userIds = spy(new UserIdRegistry(userRepository));
+        this.userService = new UserServiceImpl(userRepository, userIds);
     }
 
     private User makeDefaultUser() {
@@ -287,9 +290,30 @@ class UserServiceImplTest {
         verify(userRepository, times(1))
                 .existsById(anyLong());
         verifyNoMoreInteractions(userRepository);
+        verify(userIds, times(1))
+                .userRemoved(userId);
         assertThat(result, equalTo(expect));
     }
 
+    @Test
+    void testDeleteUser_ShouldKeepUserId_WhenNothingDeleted() {
+        // given
+        Long userId = 1L;
+
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(userRepository.removeById(anyLong()))
+                .thenReturn(0);
+
+        // do
+        Boolean result = userService.deleteUser(userId);
+
+        // expect
+        assertThat(result, equalTo(false));
+        verify(userIds, never())
+                .userRemoved(anyLong());
+    }
+
     @Test
     void testDeleteUser_ShouldReturnError_WhenUserNotExists() {
         // given